@@ -1,15 +1,21 @@
 package com.mazadak.orders;
 
+import com.mazadak.orders.dto.event.OrderCacheInvalidatedEvent;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.cloud.bus.jackson.RemoteApplicationEventScan;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing(auditorAwareRef = "auditorAware")
 @EnableFeignClients
+@EnableScheduling
+@ConfigurationPropertiesScan
+@RemoteApplicationEventScan(basePackageClasses = OrderCacheInvalidatedEvent.class)
 @ComponentScan(basePackages = {"com.mazadak.orders", "com.mazadak.common"})
 public class OrdersApplication {
 
@@ -0,0 +1,151 @@
+package com.mazadak.orders.client;
+
+import com.mazadak.orders.dto.response.ProductResponseDTO;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent {@link ProductClient#getProductsByIds} lookups. Ids requested by any thread are collected
+ * for up to {@code orders.product-batch.max-delay} or until {@code orders.product-batch.max-size} distinct ids are
+ * pending, then fetched with one {@code /products/batch} call whose results are fanned back out to every caller.
+ * An id requested by several callers in the same window is fetched once.
+ */
+@Component
+@Slf4j
+public class ProductBatchLoader {
+    private static final String BATCH_SIZE_METRIC = "orders.product-batch.size";
+
+    private final ProductClient productClient;
+    private final int maxSize;
+    private final Duration maxDelay;
+    private final DistributionSummary batchSizes;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("product-batch-scheduler").daemon().factory()
+    );
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("product-batch-", 0).factory()
+    );
+
+    // guarded by this
+    private Map<UUID, CompletableFuture<ProductResponseDTO>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public ProductBatchLoader(
+            ProductClient productClient,
+            MeterRegistry meterRegistry,
+            @Value("${orders.product-batch.max-size:100}") int maxSize,
+            @Value("${orders.product-batch.max-delay:5ms}") Duration maxDelay
+    ) {
+        this.productClient = productClient;
+        this.maxSize = maxSize;
+        this.maxDelay = maxDelay;
+        this.batchSizes = DistributionSummary.builder(BATCH_SIZE_METRIC)
+                .description("Distinct product ids per /products/batch call")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Completes with the products that exist among {@code productIds}; unknown ids are left out of the map.
+     */
+    public CompletableFuture<Map<UUID, ProductResponseDTO>> load(Collection<? extends UUID> productIds) {
+        Map<UUID, CompletableFuture<ProductResponseDTO>> futures = new HashMap<>();
+        List<Map<UUID, CompletableFuture<ProductResponseDTO>>> fullBatches = new ArrayList<>();
+
+        synchronized (this) {
+            for (UUID productId : productIds) {
+                if (futures.containsKey(productId)) {
+                    continue;
+                }
+                futures.put(productId, pending.computeIfAbsent(productId, id -> new CompletableFuture<>()));
+                if (pending.size() >= maxSize) {
+                    fullBatches.add(takePending());
+                }
+            }
+            if (!pending.isEmpty() && scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, maxDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+        fullBatches.forEach(this::submit);
+
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<UUID, ProductResponseDTO> products = new HashMap<>();
+                    futures.forEach((id, future) -> {
+                        ProductResponseDTO product = future.join();
+                        if (product != null) {
+                            products.put(id, product);
+                        }
+                    });
+                    return products;
+                });
+    }
+
+    private void flush() {
+        Map<UUID, CompletableFuture<ProductResponseDTO>> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) {
+            submit(batch);
+        }
+    }
+
+    private Map<UUID, CompletableFuture<ProductResponseDTO>> takePending() {
+        Map<UUID, CompletableFuture<ProductResponseDTO>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void submit(Map<UUID, CompletableFuture<ProductResponseDTO>> batch) {
+        executor.execute(() -> fetch(batch));
+    }
+
+    private void fetch(Map<UUID, CompletableFuture<ProductResponseDTO>> batch) {
+        batchSizes.record(batch.size());
+        try {
+            List<ProductResponseDTO> products = Objects.requireNonNullElse(
+                    productClient.getProductsByIds(List.copyOf(batch.keySet())).getBody(), List.of());
+            for (ProductResponseDTO product : products) {
+                CompletableFuture<ProductResponseDTO> future = batch.get(product.productId());
+                if (future != null) {
+                    future.complete(product);
+                }
+            }
+            batch.values().forEach(future -> future.complete(null));
+        } catch (RuntimeException e) {
+            log.warn("Fetching {} products failed: {}", batch.size(), e.getMessage());
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.close();
+    }
+}
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
 import com.mazadak.orders.client.*;
 import com.mazadak.orders.service.OrderService;
+import com.mazadak.orders.workflow.AuctionCheckoutWorkflow;
+import com.mazadak.orders.workflow.FixedPriceCheckoutWorkflow;
 import com.mazadak.orders.workflow.activity.FixedPriceCheckoutActivities;
 import com.mazadak.orders.workflow.activity.impl.AuctionCheckoutActivitiesImpl;
 import com.mazadak.orders.workflow.activity.CheckoutActivities;
@@ -14,12 +16,27 @@ import com.mazadak.orders.workflow.activity.impl.CheckoutActivitiesImpl;
 import com.mazadak.orders.workflow.impl.FixedPriceCheckoutWorkflowImpl;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowClientOptions;
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.Scope;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.temporal.common.converter.DefaultDataConverter;
 import io.temporal.common.converter.JacksonJsonPayloadConverter;
+import io.temporal.common.reporter.MicrometerClientStatsReporter;
 import io.temporal.serviceclient.WorkflowServiceStubs;
 import io.temporal.serviceclient.WorkflowServiceStubsOptions;
 import io.temporal.worker.Worker;
 import io.temporal.worker.WorkerFactory;
+import io.temporal.worker.WorkerFactoryOptions;
+import io.temporal.worker.WorkerOptions;
+import io.temporal.worker.tuning.CompositeTuner;
+import io.temporal.worker.tuning.PollerBehavior;
+import io.temporal.worker.tuning.PollerBehaviorAutoscaling;
+import io.temporal.worker.tuning.PollerBehaviorSimpleMaximum;
+import io.temporal.worker.tuning.ResourceBasedController;
+import io.temporal.worker.tuning.ResourceBasedControllerOptions;
+import io.temporal.worker.tuning.ResourceBasedSlotOptions;
+import io.temporal.worker.tuning.ResourceBasedSlotSupplier;
+import io.temporal.worker.tuning.ResourceBasedTuner;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.cloud.stream.function.StreamBridge;
@@ -31,12 +48,32 @@ public class TemporalWorkerConfig {
     @Value("${temporal.address:localhost:7233}")
     private String temporalAddress;
 
+    // run DB-only order activities as local activities, per workflow type
+    @Value("${temporal.local-activities.fixed-price:false}")
+    private boolean fixedPriceLocalActivities;
+
+    @Value("${temporal.local-activities.auction:false}")
+    private boolean auctionLocalActivities;
+
+    // activities block on Feign calls; workflow task threads do not and keep the SDK's default
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    // client and worker metrics (poll latency, slots available, schedule-to-start) are reported through this scope
+    @Bean(destroyMethod = "close")
+    public Scope temporalMetricsScope(MeterRegistry meterRegistry, TemporalWorkerProperties properties) {
+        return new RootScopeBuilder()
+                .reporter(new MicrometerClientStatsReporter(meterRegistry))
+                .reportEvery(com.uber.m3.util.Duration.ofMillis(properties.metricsReportInterval().toMillis()));
+    }
+
     @Bean
-    public WorkflowServiceStubs workflowServiceStubs() {
+    public WorkflowServiceStubs workflowServiceStubs(Scope temporalMetricsScope) {
         // Connect to Temporal server using configured address
         return WorkflowServiceStubs.newServiceStubs(
                 WorkflowServiceStubsOptions.newBuilder()
                         .setTarget(temporalAddress)
+                        .setMetricsScope(temporalMetricsScope)
                         .build()
         );
     }
@@ -60,20 +97,43 @@ public class TemporalWorkerConfig {
     }
 
     @Bean
-    public WorkerFactory workerFactory(WorkflowClient workflowClient) {
-        return WorkerFactory.newInstance(workflowClient);
+    public WorkerFactory workerFactory(WorkflowClient workflowClient, TemporalWorkerProperties properties) {
+        return WorkerFactory.newInstance(
+                workflowClient,
+                WorkerFactoryOptions.newBuilder()
+                        .setWorkflowCacheSize(properties.workflowCacheSize())
+                        .setMaxWorkflowThreadCount(properties.maxWorkflowThreadCount())
+                        .build()
+        );
+    }
+
+    // shared by every resource-based slot supplier so both task queues back off on the same JVM measurements
+    @Bean
+    public ResourceBasedController temporalResourceController(TemporalWorkerProperties properties, Scope temporalMetricsScope) {
+        TemporalWorkerProperties.ResourceTargets targets = properties.resourceTargets();
+        ResourceBasedController controller = ResourceBasedController.newSystemInfoController(
+                ResourceBasedControllerOptions.newBuilder(targets.memoryUsage(), targets.cpuUsage()).build()
+        );
+        controller.setMetricsScope(temporalMetricsScope);
+        return controller;
     }
 
     @Bean
     public Worker auctionCheckoutWorker(
             WorkerFactory workerFactory,
             AuctionCheckoutActivitiesImpl auctionCheckoutActivities,
-            CheckoutActivitiesImpl checkoutActivities
+            CheckoutActivitiesImpl checkoutActivities,
+            TemporalWorkerProperties properties,
+            ResourceBasedController temporalResourceController
     ) {
-        Worker worker = workerFactory.newWorker("AUCTION_CHECKOUT_TASK_QUEUE");
+        Worker worker = workerFactory.newWorker(
+                "AUCTION_CHECKOUT_TASK_QUEUE",
+                workerOptions(properties.auctionCheckout(), temporalResourceController)
+        );
 
-        worker.registerWorkflowImplementationTypes(
-                AuctionCheckoutWorkflowImpl.class
+        worker.registerWorkflowImplementationFactory(
+                AuctionCheckoutWorkflow.class,
+                () -> new AuctionCheckoutWorkflowImpl(auctionLocalActivities)
         );
 
         worker.registerActivitiesImplementations(
@@ -88,11 +148,17 @@ public class TemporalWorkerConfig {
     public Worker fixedPriceCheckoutWorker(
             WorkerFactory workerFactory,
             FixedPriceCheckoutActivities fixedPriceCheckoutActivities,
-            CheckoutActivities checkoutActivities) {
-        Worker worker = workerFactory.newWorker("FIXED_PRICE_CHECKOUT_TASK_QUEUE");
+            CheckoutActivities checkoutActivities,
+            TemporalWorkerProperties properties,
+            ResourceBasedController temporalResourceController) {
+        Worker worker = workerFactory.newWorker(
+                "FIXED_PRICE_CHECKOUT_TASK_QUEUE",
+                workerOptions(properties.fixedPriceCheckout(), temporalResourceController)
+        );
 
-        worker.registerWorkflowImplementationTypes(
-                FixedPriceCheckoutWorkflowImpl.class
+        worker.registerWorkflowImplementationFactory(
+                FixedPriceCheckoutWorkflow.class,
+                () -> new FixedPriceCheckoutWorkflowImpl(fixedPriceLocalActivities)
         );
 
         worker.registerActivitiesImplementations(
@@ -103,6 +169,69 @@ public class TemporalWorkerConfig {
         return worker;
     }
 
+    WorkerOptions workerOptions(TemporalWorkerProperties.TaskQueue queue, ResourceBasedController resourceController) {
+        WorkerOptions.Builder options = WorkerOptions.newBuilder()
+                .setUsingVirtualThreadsOnActivityWorker(virtualThreads)
+                .setUsingVirtualThreadsOnLocalActivityWorker(virtualThreads);
+
+        PollerBehavior workflowPollers = pollerBehavior(queue.workflowPollers());
+        if (workflowPollers != null) {
+            options.setWorkflowTaskPollersBehavior(workflowPollers);
+        }
+        PollerBehavior activityPollers = pollerBehavior(queue.activityPollers());
+        if (activityPollers != null) {
+            options.setActivityTaskPollersBehavior(activityPollers);
+        }
+        if (queue.maxWorkerActivitiesPerSecond() != null) {
+            options.setMaxWorkerActivitiesPerSecond(queue.maxWorkerActivitiesPerSecond());
+        }
+        if (queue.maxTaskQueueActivitiesPerSecond() != null) {
+            options.setMaxTaskQueueActivitiesPerSecond(queue.maxTaskQueueActivitiesPerSecond());
+        }
+
+        // the SDK rejects a tuner combined with fixed execution sizes, so the sizes become the tuner's maximums
+        if (queue.resourceBasedSlots()) {
+            options.setWorkerTuner(new CompositeTuner(
+                    ResourceBasedSlotSupplier.createForWorkflow(resourceController,
+                            slotOptions(ResourceBasedTuner.DEFAULT_WORKFLOW_SLOT_OPTIONS, queue.maxConcurrentWorkflowTasks())),
+                    ResourceBasedSlotSupplier.createForActivity(resourceController,
+                            slotOptions(ResourceBasedTuner.DEFAULT_ACTIVITY_SLOT_OPTIONS, queue.maxConcurrentActivities())),
+                    ResourceBasedSlotSupplier.createForLocalActivity(resourceController,
+                            slotOptions(ResourceBasedTuner.DEFAULT_ACTIVITY_SLOT_OPTIONS, queue.maxConcurrentLocalActivities())),
+                    ResourceBasedSlotSupplier.createForNexus(resourceController, ResourceBasedTuner.DEFAULT_NEXUS_SLOT_OPTIONS)
+            ));
+        } else {
+            if (queue.maxConcurrentWorkflowTasks() != null) {
+                options.setMaxConcurrentWorkflowTaskExecutionSize(queue.maxConcurrentWorkflowTasks());
+            }
+            if (queue.maxConcurrentActivities() != null) {
+                options.setMaxConcurrentActivityExecutionSize(queue.maxConcurrentActivities());
+            }
+            if (queue.maxConcurrentLocalActivities() != null) {
+                options.setMaxConcurrentLocalActivityExecutionSize(queue.maxConcurrentLocalActivities());
+            }
+        }
+        return options.build();
+    }
+
+    private static PollerBehavior pollerBehavior(TemporalWorkerProperties.Pollers pollers) {
+        if (pollers.autoscaling()) {
+            return new PollerBehaviorAutoscaling(pollers.minimum(), pollers.maximum(), pollers.initial());
+        }
+        return pollers.maximum() != null ? new PollerBehaviorSimpleMaximum(pollers.maximum()) : null;
+    }
+
+    private static ResourceBasedSlotOptions slotOptions(ResourceBasedSlotOptions defaults, Integer maximumSlots) {
+        if (maximumSlots == null) {
+            return defaults;
+        }
+        return ResourceBasedSlotOptions.newBuilder()
+                .setMinimumSlots(Math.min(defaults.getMinimumSlots(), maximumSlots))
+                .setMaximumSlots(maximumSlots)
+                .setRampThrottle(defaults.getRampThrottle())
+                .build();
+    }
+
     @Bean
     public ApplicationRunner startWorkerFactory(WorkerFactory workerFactory) {
         return args -> workerFactory.start();
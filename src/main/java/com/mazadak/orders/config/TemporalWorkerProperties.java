@@ -0,0 +1,49 @@
+package com.mazadak.orders.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Worker factory and per-task-queue worker settings. Unset limits keep the Temporal SDK defaults.
+ */
+@ConfigurationProperties("temporal.worker")
+public record TemporalWorkerProperties(
+        @DefaultValue("600") int workflowCacheSize,
+        @DefaultValue("600") int maxWorkflowThreadCount,
+        @DefaultValue("10s") Duration metricsReportInterval,
+        @DefaultValue ResourceTargets resourceTargets,
+        @DefaultValue TaskQueue auctionCheckout,
+        @DefaultValue TaskQueue fixedPriceCheckout
+) {
+
+    /** Memory and CPU usage, as fractions of the JVM and host, that resource-based slots stop growing at. */
+    public record ResourceTargets(
+            @DefaultValue("0.8") double memoryUsage,
+            @DefaultValue("0.9") double cpuUsage
+    ) { }
+
+    /**
+     * With {@code resourceBasedSlots}, slots are handed out while the process is under its {@link ResourceTargets}
+     * and the max-concurrent sizes cap each slot supplier instead of fixing it.
+     */
+    public record TaskQueue(
+            @DefaultValue("false") boolean resourceBasedSlots,
+            Integer maxConcurrentWorkflowTasks,
+            Integer maxConcurrentActivities,
+            Integer maxConcurrentLocalActivities,
+            Double maxWorkerActivitiesPerSecond,
+            Double maxTaskQueueActivitiesPerSecond,
+            @DefaultValue Pollers workflowPollers,
+            @DefaultValue Pollers activityPollers
+    ) { }
+
+    /** Autoscaling pollers move between {@code minimum} and {@code maximum}; otherwise {@code maximum} is fixed. */
+    public record Pollers(
+            @DefaultValue("false") boolean autoscaling,
+            Integer minimum,
+            Integer maximum,
+            Integer initial
+    ) { }
+}
@@ -0,0 +1,29 @@
+package com.mazadak.orders.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cloud.stream.config.ListenerContainerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+
+/**
+ * With {@code spring.threads.virtual.enabled}, Boot already runs Tomcat requests, {@code @Scheduled} and
+ * {@code @Async} work on virtual threads. The Kafka binder builds its listener containers itself, so their
+ * consumer threads are switched here; Temporal activity workers are switched in {@link TemporalWorkerConfig}.
+ * Feign calls run on the calling thread and follow along.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public ListenerContainerCustomizer<AbstractMessageListenerContainer<?, ?>> virtualThreadListenerContainerCustomizer() {
+        return (container, destination, group) -> {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(destination + "-consumer-");
+            executor.setVirtualThreads(true);
+            container.getContainerProperties().setListenerTaskExecutor(executor);
+        };
+    }
+}
@@ -1,19 +1,27 @@
 package com.mazadak.orders.controller;
 
+import com.mazadak.orders.dto.internal.CheckoutState;
 import com.mazadak.orders.dto.internal.CheckoutStatusResponse;
 import com.mazadak.orders.dto.internal.WorkflowResult;
 import com.mazadak.orders.dto.request.CheckoutRequest;
 import com.mazadak.orders.dto.request.OrderFilterDto;
+import com.mazadak.orders.dto.response.CursorPageResponse;
 import com.mazadak.orders.dto.response.OrderResponse;
+import com.mazadak.orders.mapper.CheckoutStatusMapper;
 import com.mazadak.orders.model.entity.Address;
 import com.mazadak.orders.repository.OrderItemRepository;
 import com.mazadak.orders.repository.OrderRepository;
+import com.mazadak.orders.service.CheckoutStatusService;
+import com.mazadak.orders.service.CheckoutStatusStreamService;
 import com.mazadak.orders.service.OrderService;
 import com.mazadak.orders.workflow.starter.AuctionCheckoutStarter;
 import io.temporal.api.common.v1.WorkflowExecution;
 import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowQueryException;
 import io.temporal.client.WorkflowStub;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -21,11 +29,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -41,6 +52,8 @@ public class OrderController {
     private final OrderItemRepository orderItemRepository;
     private final AuctionCheckoutStarter auctionCheckoutStarter;
     private final WorkflowClient workflowClient;
+    private final CheckoutStatusService checkoutStatusService;
+    private final CheckoutStatusStreamService checkoutStatusStreamService;
 
     @GetMapping("{id}")
     public ResponseEntity<OrderResponse> getOrderById(@PathVariable UUID id) {
@@ -55,6 +68,16 @@ public class OrderController {
         return orderService.findOrdersByCriteria(filter, pageable);
     }
 
+    @GetMapping("/scroll")
+    public CursorPageResponse<OrderResponse> scrollOrdersByCriteria(
+            @ModelAttribute OrderFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction
+    ) {
+        return orderService.scrollOrdersByCriteria(filter, cursor, size, direction);
+    }
+
 //    @PostMapping("/test/create")
 //    public ResponseEntity<Order> createTestOrder(@RequestBody CreateTestOrderRequest request) {
 //        // TODO: remove
@@ -125,13 +148,30 @@ public class OrderController {
         ));
     }
 
+    /**
+     * Same as {@link #checkout}, but waits until the order is created and its inventory reserved and returns it, so
+     * clients can create the payment intent right away.
+     */
+    @PostMapping("/checkout/sync")
+    public ResponseEntity<OrderResponse> checkoutAndAwaitOrder(
+            @RequestHeader("X-User-Id") UUID userId,
+            @RequestHeader("Idempotency-Key") UUID idempotencyKey,
+            @Valid @RequestBody CheckoutRequest request) {
+        if (!userId.equals(request.userId())) {
+            log.warn("User {} is not authorized to checkout for order {}", userId, request);
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(orderService.checkoutAndAwaitOrder(idempotencyKey, request));
+    }
+
     @PostMapping("/checkout/{orderId}/address")
     public ResponseEntity<Void> provideAddressTest(@PathVariable UUID orderId,
                                                    @RequestHeader("X-User-Id") UUID userId,
                                                    @RequestBody Address address
     ) {
         orderService.assertOrderBelongsToBuyer(orderId, userId);
-        auctionCheckoutStarter.sendAddressProvided(orderId, orderService.getOrderById(orderId).auctionId(), address);
+        auctionCheckoutStarter.sendAddressProvided(orderService.getWorkflowIdByOrderId(orderId), orderId, address);
         return ResponseEntity.ok().build();
     }
 //
@@ -158,10 +198,42 @@ public class OrderController {
 
         orderService.assertOrderBelongsToBuyer(orderId, userId);
 
+        return findCheckoutStatus(orderId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(path = "/checkout/{orderId}/status/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCheckoutWorkflowStatus(
+            @RequestHeader("X-User-Id") UUID userId,
+            @PathVariable UUID orderId) {
+
+        orderService.assertOrderBelongsToBuyer(orderId, userId);
+
+        return checkoutStatusStreamService.subscribe(orderId, findCheckoutStatus(orderId).orElse(null));
+    }
+
+    private Optional<CheckoutStatusResponse> findCheckoutStatus(UUID orderId) {
+        return checkoutStatusService.findStatus(orderId)
+                .or(() -> getCheckoutStatusFromWorkflow(orderId));
+    }
+
+    /**
+     * Fallback for checkouts that have no projection row (started before it existed): asks the workflow for its
+     * state with a single query, and only falls back to the coarse execution status for workers that predate it.
+     */
+    private Optional<CheckoutStatusResponse> getCheckoutStatusFromWorkflow(UUID orderId) {
         String workflowId = orderService.getWorkflowIdByOrderId(orderId);
 
         try {
             WorkflowStub workflowStub = workflowClient.newUntypedWorkflowStub(workflowId);
+            try {
+                CheckoutState state = workflowStub.query(CheckoutState.QUERY_NAME, CheckoutState.class);
+                return Optional.of(CheckoutStatusMapper.toResponse(state, orderId));
+            } catch (WorkflowQueryException e) {
+                log.debug("Checkout state query not available for workflow {}: {}", workflowId, e.getMessage());
+            }
+
             var description = workflowStub.describe();
             var workflowStatus = description.getStatus();
 
@@ -173,30 +245,31 @@ public class OrderController {
                                 1, TimeUnit.SECONDS, WorkflowResult.class
                         );
 
-                        return ResponseEntity.ok(new CheckoutStatusResponse(
+                        return Optional.of(new CheckoutStatusResponse(
                                 result.isSuccess() ? "COMPLETED" : "FAILED",
                                 result.getStatus(),
-                                result.getErrorMessage()
+                                result.getErrorMessage(),
+                                null
                         ));
                     } catch (TimeoutException e) {
                         // Shouldn't happen since workflow is completed
-                        return ResponseEntity.ok(new CheckoutStatusResponse("COMPLETED", null, null));
+                        return Optional.of(new CheckoutStatusResponse("COMPLETED", null, null, null));
                     }
 
                 case WORKFLOW_EXECUTION_STATUS_FAILED:
                 case WORKFLOW_EXECUTION_STATUS_TERMINATED:
                 case WORKFLOW_EXECUTION_STATUS_TIMED_OUT:
                 case WORKFLOW_EXECUTION_STATUS_CANCELED:
-                    return ResponseEntity.ok(new CheckoutStatusResponse("FAILED", null, null));
+                    return Optional.of(new CheckoutStatusResponse("FAILED", null, null, null));
 
                 case WORKFLOW_EXECUTION_STATUS_RUNNING:
                 case WORKFLOW_EXECUTION_STATUS_CONTINUED_AS_NEW:
                 default:
-                    return ResponseEntity.ok(new CheckoutStatusResponse("RUNNING", null, null));
+                    return Optional.of(new CheckoutStatusResponse("RUNNING", null, null, null));
             }
         } catch (Exception e) {
             log.error("Failed to get checkout status for order {}, reason {}", orderId, e.getMessage());
-            return ResponseEntity.notFound().build();
+            return Optional.empty();
         }
     }
 }
@@ -0,0 +1,8 @@
+package com.mazadak.orders.dto.event;
+
+import java.util.UUID;
+
+/**
+ * In-process event published whenever this instance writes the checkout status projection of an order.
+ */
+public record CheckoutStatusChangedEvent(UUID orderId) { }
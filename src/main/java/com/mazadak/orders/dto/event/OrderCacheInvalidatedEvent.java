@@ -0,0 +1,32 @@
+package com.mazadak.orders.dto.event;
+
+import org.springframework.cloud.bus.event.RemoteApplicationEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Broadcast over Spring Cloud Bus to every replica: drop any locally cached data of these orders.
+ */
+public class OrderCacheInvalidatedEvent extends RemoteApplicationEvent {
+    private final List<UUID> orderIds;
+
+    @SuppressWarnings("unused") // for deserialization
+    private OrderCacheInvalidatedEvent() {
+        this.orderIds = List.of();
+    }
+
+    public OrderCacheInvalidatedEvent(Object source, String originService, List<UUID> orderIds) {
+        super(source, originService);
+        this.orderIds = List.copyOf(orderIds);
+    }
+
+    public List<UUID> getOrderIds() {
+        return orderIds;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderCacheInvalidatedEvent{orderIds=" + orderIds.size() + ", " + super.toString() + "}";
+    }
+}
@@ -0,0 +1,17 @@
+package com.mazadak.orders.dto.event;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Payload of both product-updated and product-price-changed events; a price change only carries
+ * {@code productId}, {@code price} and {@code version}, so the other fields are {@code null}.
+ */
+public record ProductChangedEvent(
+        UUID productId,
+        UUID sellerId,
+        String title,
+        String description,
+        BigDecimal price,
+        Long version) {
+}
@@ -0,0 +1,21 @@
+package com.mazadak.orders.dto.internal;
+
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+
+import java.util.UUID;
+
+/**
+ * Snapshot of a checkout workflow's progress for the order it is currently processing, returned by its query
+ * handler. {@code step} is null until the order has been created.
+ */
+public record CheckoutState(
+        UUID orderId,
+        CheckoutStep step,
+        boolean addressProvided,
+        boolean intentCreated,
+        boolean paymentAuthorized,
+        boolean checkoutCancelled,
+        String cancellationReason
+) {
+    public static final String QUERY_NAME = "getCheckoutState";
+}
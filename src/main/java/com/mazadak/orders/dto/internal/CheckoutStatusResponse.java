@@ -1,7 +1,10 @@
 package com.mazadak.orders.dto.internal;
 
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+
 public record CheckoutStatusResponse(
         String status,        // "RUNNING", "COMPLETED", "FAILED"
         String listingStatus, // "ACTIVE", "FAILED", "ROLLED_BACK" (only when completed)
-        String errorMessage
+        String errorMessage,
+        CheckoutStep step     // last recorded step, null when resolved from Temporal
 ) {}
@@ -0,0 +1,41 @@
+package com.mazadak.orders.dto.internal;
+
+import com.mazadak.orders.exception.InvalidCursorException;
+import com.mazadak.orders.model.entity.Order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position of an order in a {@code (createdAt, id)} ordered listing.
+ * Encoded as an opaque URL-safe token so clients never depend on its layout.
+ */
+public record OrderCursor(Instant createdAt, UUID id) {
+    private static final String SEPARATOR = "|";
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + SEPARATOR + createdAt.getNano() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            Instant createdAt = Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+            return new OrderCursor(createdAt, UUID.fromString(parts[2]));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
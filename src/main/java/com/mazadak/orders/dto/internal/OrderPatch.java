@@ -0,0 +1,46 @@
+package com.mazadak.orders.dto.internal;
+
+import com.mazadak.orders.model.entity.Address;
+import com.mazadak.orders.model.enumeration.OrderStatus;
+import com.mazadak.orders.model.enumeration.PaymentStatus;
+
+import java.io.Serializable;
+
+/**
+ * Set of order changes applied together by a single activity in one transaction, all or none of them. Null fields
+ * are left untouched.
+ */
+public record OrderPatch(
+        Address shippingAddress,
+        String paymentIntentId,
+        String clientSecret,
+        PaymentStatus paymentStatus,
+        OrderStatus status
+) implements Serializable {
+    public static OrderPatch paymentIntent(String paymentIntentId, String clientSecret) {
+        return new OrderPatch(null, paymentIntentId, clientSecret, null, null);
+    }
+
+    /**
+     * Whether every change in this patch is allowed for an order in the given state. Checkout details are only
+     * written while the order is open; status changes follow their state machines.
+     */
+    public boolean appliesTo(OrderStatus currentStatus, PaymentStatus currentPaymentStatus) {
+        boolean writesDetails = shippingAddress != null || paymentIntentId != null || clientSecret != null;
+        if (writesDetails && !OrderStatus.openStatuses().contains(currentStatus)) {
+            return false;
+        }
+        if (paymentStatus != null && !paymentStatus.allowedSources().contains(currentPaymentStatus)) {
+            return false;
+        }
+        return status == null || status.allowedSources().contains(currentStatus);
+    }
+
+    /** Logged by activities and the service, so the client secret is only shown as present or absent. */
+    @Override
+    public String toString() {
+        return "OrderPatch[shippingAddress=" + shippingAddress + ", paymentIntentId=" + paymentIntentId
+                + ", clientSecret=" + (clientSecret == null ? null : "[redacted]")
+                + ", paymentStatus=" + paymentStatus + ", status=" + status + "]";
+    }
+}
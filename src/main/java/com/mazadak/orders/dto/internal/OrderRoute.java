@@ -0,0 +1,26 @@
+package com.mazadak.orders.dto.internal;
+
+import com.mazadak.orders.model.enumeration.OrderType;
+
+import java.util.UUID;
+
+/**
+ * What is needed to authorize a buyer for an order and signal its checkout workflow, read without loading the
+ * order itself. None of these fields change after the order is created.
+ */
+public record OrderRoute(String workflowId, OrderType type, UUID buyerId) {
+
+    /**
+     * Used by the routing query: orders created before the workflow id was persisted derive it from their
+     * idempotency key or auction id.
+     */
+    public OrderRoute(String workflowId, OrderType type, UUID buyerId, UUID idempotencyKey, UUID auctionId) {
+        this(workflowId != null ? workflowId : workflowIdFor(type, idempotencyKey, auctionId), type, buyerId);
+    }
+
+    public static String workflowIdFor(OrderType type, UUID idempotencyKey, UUID auctionId) {
+        return type == OrderType.FIXED_PRICE ?
+                "fixed-price-checkout-" + idempotencyKey :
+                "auction-checkout-" + auctionId;
+    }
+}
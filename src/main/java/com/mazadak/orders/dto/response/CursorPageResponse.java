@@ -0,0 +1,13 @@
+package com.mazadak.orders.dto.response;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Keyset-paginated slice of results. {@code nextCursor} is passed back as-is to fetch the following slice.
+ */
+public record CursorPageResponse<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) implements Serializable { }
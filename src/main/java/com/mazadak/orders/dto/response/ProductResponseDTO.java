@@ -3,11 +3,16 @@ package com.mazadak.orders.dto.response;
 import java.math.BigDecimal;
 import java.util.UUID;
 
+/**
+ * {@code version} is the catalog's revision of the product; it increases with every change and is {@code null}
+ * when the catalog does not report one.
+ */
 public record ProductResponseDTO (
         UUID productId,
         UUID sellerId,
         String title,
         String description,
-        BigDecimal price
+        BigDecimal price,
+        Long version
 ){
 }
@@ -2,6 +2,7 @@ package com.mazadak.orders.event.consumer;
 
 import com.mazadak.orders.mapper.AuctionCheckoutMapper;
 import com.mazadak.orders.dto.internal.AuctionCheckoutRequest;
+import com.mazadak.orders.service.UserEmailService;
 import com.mazadak.orders.workflow.starter.AuctionCheckoutStarter;
 import com.mazadak.orders.dto.event.AuctionEndedEvent;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +16,7 @@ import java.util.function.Consumer;
 @Slf4j
 public class AuctionEndedEventConsumer implements Consumer<AuctionEndedEvent> {
     private final AuctionCheckoutStarter starter;
+    private final UserEmailService userEmailService;
 
     @Override
     public void accept(AuctionEndedEvent event) {
@@ -27,6 +29,8 @@ public class AuctionEndedEventConsumer implements Consumer<AuctionEndedEvent> {
 
         log.info("Received AuctionEndedEvent for auction {}", event.auction().id());
         AuctionCheckoutRequest request = AuctionCheckoutMapper.fromEndedEventToCheckoutRequest(event);
+        // warms the email cache while the workflow creates the first bidder's order
+        userEmailService.prefetch(request.bidders().stream().map(AuctionCheckoutRequest.BidderInfo::id).toList());
         starter.startAuctionCheckout(request);
     }
 }
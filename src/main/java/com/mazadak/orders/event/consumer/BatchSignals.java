@@ -0,0 +1,54 @@
+package com.mazadak.orders.event.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Sends one workflow signal per event of a batch and waits for all of them. A failing event, whether it throws before
+ * its signal is sent or its signal fails, does not stop the rest of the batch; the first failure is reported with its
+ * index, so the binder commits the events before it and only redelivers from there.
+ */
+@Slf4j
+final class BatchSignals {
+
+    private BatchSignals() {
+    }
+
+    static <E> void sendAll(List<E> events, Function<E, CompletableFuture<Void>> signal) {
+        List<CompletableFuture<Void>> signals = new ArrayList<>(events.size());
+        for (E event : events) {
+            signals.add(send(event, signal));
+        }
+
+        RuntimeException firstFailure = null;
+        for (int i = 0; i < signals.size(); i++) {
+            try {
+                signals.get(i).join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                // events are not rendered: intent events carry the client secret
+                log.warn("Signal for event {} of the batch failed: {}", i, cause.toString());
+                if (firstFailure == null) {
+                    firstFailure = new BatchListenerFailedException("Signal for event " + i + " of the batch failed", cause, i);
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+    }
+
+    private static <E> CompletableFuture<Void> send(E event, Function<E, CompletableFuture<Void>> signal) {
+        try {
+            return signal.apply(event);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.mazadak.orders.event.consumer;
+
+import com.mazadak.orders.dto.event.OrderCacheInvalidatedEvent;
+import com.mazadak.orders.service.CheckoutStatusService;
+import com.mazadak.orders.service.OrderCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies cache invalidations broadcast by any replica, including this one, to the local near-caches.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderCacheInvalidatedEventListener {
+    private final OrderCacheService orderCacheService;
+    private final CheckoutStatusService checkoutStatusService;
+
+    @EventListener
+    public void onOrderCacheInvalidated(OrderCacheInvalidatedEvent event) {
+        log.debug("Evicting {} orders invalidated by {}", event.getOrderIds().size(), event.getOriginService());
+
+        orderCacheService.evictLocally(event.getOrderIds());
+        checkoutStatusService.evictLocally(event.getOrderIds());
+    }
+}
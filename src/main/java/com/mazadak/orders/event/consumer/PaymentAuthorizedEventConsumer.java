@@ -1,26 +1,36 @@
 package com.mazadak.orders.event.consumer;
 
 import com.mazadak.orders.service.OrderService;
-import com.mazadak.orders.workflow.starter.AuctionCheckoutStarter;
 import com.mazadak.orders.dto.event.PaymentAuthorizedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
+/**
+ * Consumes payment-authorized events in batches. Signals for the whole batch are sent concurrently and awaited
+ * together; a failing event is reported by its index, so only it and the events after it are redelivered.
+ */
 @Component("paymentAuthorizedEventConsumer")
 @Slf4j
 @RequiredArgsConstructor
-public class PaymentAuthorizedEventConsumer implements Consumer<PaymentAuthorizedEvent> {
+public class PaymentAuthorizedEventConsumer implements Consumer<List<PaymentAuthorizedEvent>> {
     private final OrderService orderService;
 
     @Override
-    public void accept(PaymentAuthorizedEvent event) {
-        log.info("Received PaymentAuthorizedEvent for order {}, intent {}",
-                event.orderId(), event.paymentIntentId());
+    public void accept(List<PaymentAuthorizedEvent> events) {
+        log.info("Received {} PaymentAuthorizedEvents", events.size());
 
-        orderService.authorizePayment(UUID.fromString(event.orderId()), event.paymentIntentId());
+        BatchSignals.sendAll(events, this::authorize);
+    }
+
+    private CompletableFuture<Void> authorize(PaymentAuthorizedEvent event) {
+        log.info("Authorizing payment for order {}, intent {}", event.orderId(), event.paymentIntentId());
+
+        return orderService.authorizePayment(UUID.fromString(event.orderId()), event.paymentIntentId());
     }
 }
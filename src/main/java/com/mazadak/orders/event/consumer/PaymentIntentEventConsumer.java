@@ -6,20 +6,31 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
+/**
+ * Consumes intent-created events in batches, sending every intent signal concurrently and reporting a failing event
+ * by its index so the events before it are not redelivered.
+ */
 @Component("intentCreatedEventConsumer")
 @Slf4j
 @RequiredArgsConstructor
-public class PaymentIntentEventConsumer implements Consumer<PaymentIntentCreatedEvent> {
+public class PaymentIntentEventConsumer implements Consumer<List<PaymentIntentCreatedEvent>> {
     private final OrderService orderService;
 
     @Override
-    public void accept(PaymentIntentCreatedEvent event) {
-        log.info("Received PaymentIntentCreatedEvent for order {}, intent {}",
-                event.orderId(), event.paymentIntentId());
+    public void accept(List<PaymentIntentCreatedEvent> events) {
+        log.info("Received {} PaymentIntentCreatedEvents", events.size());
 
-        orderService.attachIntent(UUID.fromString(event.orderId()), event.paymentIntentId(), event.clientSecret());
+        BatchSignals.sendAll(events, this::attach);
+    }
+
+    private CompletableFuture<Void> attach(PaymentIntentCreatedEvent event) {
+        log.info("Attaching intent {} to order {}", event.paymentIntentId(), event.orderId());
+
+        return orderService.attachIntent(UUID.fromString(event.orderId()), event.paymentIntentId(), event.clientSecret());
     }
 }
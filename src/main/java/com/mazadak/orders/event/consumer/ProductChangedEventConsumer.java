@@ -0,0 +1,30 @@
+package com.mazadak.orders.event.consumer;
+
+import com.mazadak.orders.dto.event.ProductChangedEvent;
+import com.mazadak.orders.service.ProductCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Keeps this replica's product snapshots fresh. The binding has no consumer group, so every replica receives every
+ * product-updated and product-price-changed event.
+ */
+@Component("productChangedEventConsumer")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChangedEventConsumer implements Consumer<ProductChangedEvent> {
+    private final ProductCatalogService productCatalogService;
+
+    @Override
+    public void accept(ProductChangedEvent event) {
+        if (event.productId() == null) {
+            log.warn("Ignoring product change without product id: {}", event);
+            return;
+        }
+
+        productCatalogService.applyChange(event);
+    }
+}
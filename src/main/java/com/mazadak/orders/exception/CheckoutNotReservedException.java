@@ -0,0 +1,11 @@
+package com.mazadak.orders.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class CheckoutNotReservedException extends RuntimeException {
+    public CheckoutNotReservedException(String workflowId, Throwable cause) {
+        super(String.format("Checkout %s failed before its order was reserved", workflowId), cause);
+    }
+}
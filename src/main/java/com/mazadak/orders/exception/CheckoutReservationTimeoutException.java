@@ -0,0 +1,13 @@
+package com.mazadak.orders.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class CheckoutReservationTimeoutException extends RuntimeException {
+    public CheckoutReservationTimeoutException(String workflowId, Duration timeout) {
+        super(String.format("Order of checkout %s was not reserved within %s, it is still in progress", workflowId, timeout));
+    }
+}
@@ -0,0 +1,13 @@
+package com.mazadak.orders.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(UUID idempotencyKey) {
+        super(String.format("Idempotency key %s was already used by another user", idempotencyKey));
+    }
+}
@@ -0,0 +1,14 @@
+package com.mazadak.orders.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.UUID;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class StaleProductSnapshotException extends RuntimeException {
+    public StaleProductSnapshotException(UUID productId, Long pricedVersion, Long currentVersion) {
+        super(String.format("Product %s was priced at version %s but is now at version %s",
+                productId, pricedVersion, currentVersion));
+    }
+}
@@ -0,0 +1,39 @@
+package com.mazadak.orders.mapper;
+
+import com.mazadak.orders.dto.internal.CheckoutState;
+import com.mazadak.orders.dto.internal.CheckoutStatusResponse;
+import com.mazadak.orders.model.entity.CheckoutStatus;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+
+import java.util.UUID;
+
+public class CheckoutStatusMapper {
+    public static CheckoutStatusResponse toResponse(CheckoutStatus checkoutStatus) {
+        return new CheckoutStatusResponse(
+                checkoutStatus.getStep().checkoutStatus(),
+                null,
+                null,
+                checkoutStatus.getStep()
+        );
+    }
+
+    /**
+     * Maps a workflow's state to the status of the given order. A workflow that already moved on to another order
+     * (e.g. the next auction bidder) has given up on this one.
+     */
+    public static CheckoutStatusResponse toResponse(CheckoutState state, UUID orderId) {
+        if (state.orderId() != null && !state.orderId().equals(orderId)) {
+            return new CheckoutStatusResponse("FAILED", null, null, CheckoutStep.FAILED);
+        }
+
+        // the order row can commit before the workflow records the activity result
+        CheckoutStep step = state.step() != null ? state.step() : CheckoutStep.ORDER_CREATED;
+
+        return new CheckoutStatusResponse(
+                step.checkoutStatus(),
+                null,
+                state.checkoutCancelled() ? state.cancellationReason() : null,
+                step
+        );
+    }
+}
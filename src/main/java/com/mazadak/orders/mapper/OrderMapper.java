@@ -2,10 +2,20 @@ package com.mazadak.orders.mapper;
 
 import com.mazadak.orders.dto.response.OrderResponse;
 import com.mazadak.orders.model.entity.Order;
+import com.mazadak.orders.model.entity.OrderItem;
+
+import java.util.List;
 
 public class OrderMapper {
 
     public static OrderResponse toResponse(Order order) {
+        return toResponse(order, order.getOrderItems());
+    }
+
+    /**
+     * Maps an order using items that were loaded separately, so listing pages never touch the lazy collection.
+     */
+    public static OrderResponse toResponse(Order order, List<OrderItem> orderItems) {
         return new OrderResponse(
                 order.getId(),
                 order.getBuyerId(),
@@ -14,7 +24,7 @@ public class OrderMapper {
                 order.getStatus(),
                 order.getShippingAddress(),
                 order.getPaymentStatus(),
-                OrderItemMapper.toResponse(order.getOrderItems()),
+                OrderItemMapper.toResponse(orderItems),
                 order.getPaymentIntentId(),
                 order.getClientSecret(),
                 order.getAuctionId(),
@@ -0,0 +1,34 @@
+package com.mazadak.orders.model.entity;
+
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-side projection of a checkout's progress, written alongside the order changes made by the workflow
+ * activities so status polling does not have to reach Temporal.
+ */
+@Entity
+@Table(name = "checkout_status")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class CheckoutStatus {
+    @Id
+    private UUID orderId;
+
+    @Column(nullable = false)
+    private String workflowId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private CheckoutStep step;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
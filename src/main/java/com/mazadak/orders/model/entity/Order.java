@@ -54,4 +54,6 @@ public class Order extends BaseEntity {
     private UUID cartId;
 
     private UUID idempotencyKey;
+
+    private String workflowId;
 }
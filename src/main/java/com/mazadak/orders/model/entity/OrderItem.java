@@ -28,7 +28,7 @@ public class OrderItem extends BaseEntity{
     private BigDecimal subtotal;
 
     @ToString.Exclude
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
     private Order order;
 }
@@ -0,0 +1,62 @@
+package com.mazadak.orders.model.enumeration;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Step a checkout has reached, as recorded in the checkout status projection.
+ */
+public enum CheckoutStep {
+    ORDER_CREATED,
+    ADDRESS_RECEIVED,
+    INTENT_CREATED,
+    PAYMENT_AUTHORIZED,
+    PAYMENT_CAPTURED,
+    COMPLETED,
+    CANCELLED,
+    FAILED;
+
+    /**
+     * Steps the projection may move into this step from: any earlier step that is not final. Activity retries
+     * therefore never move a checkout backwards.
+     */
+    public Set<CheckoutStep> allowedSources() {
+        Set<CheckoutStep> sources = EnumSet.range(ORDER_CREATED, this);
+        sources.remove(this);
+        sources.removeAll(finalSteps());
+        return sources;
+    }
+
+    /**
+     * Coarse status reported to clients: "RUNNING", "COMPLETED" or "FAILED".
+     */
+    public String checkoutStatus() {
+        return switch (this) {
+            case COMPLETED -> "COMPLETED";
+            case CANCELLED, FAILED -> "FAILED";
+            default -> "RUNNING";
+        };
+    }
+
+    public static Set<CheckoutStep> finalSteps() {
+        return EnumSet.of(COMPLETED, FAILED);
+    }
+
+    public static Optional<CheckoutStep> fromOrderStatus(OrderStatus status) {
+        return switch (status) {
+            case COMPLETED -> Optional.of(COMPLETED);
+            case CANCELLED -> Optional.of(CANCELLED);
+            case FAILED -> Optional.of(FAILED);
+            case PENDING, CONFIRMED -> Optional.empty();
+        };
+    }
+
+    public static Optional<CheckoutStep> fromPaymentStatus(PaymentStatus status) {
+        return switch (status) {
+            case AUTHORIZED -> Optional.of(PAYMENT_AUTHORIZED);
+            case CAPTURED -> Optional.of(PAYMENT_CAPTURED);
+            case PENDING, FAILED, REFUNDED -> Optional.empty();
+        };
+    }
+}
@@ -1,9 +1,39 @@
 package com.mazadak.orders.model.enumeration;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
     COMPLETED,
     CANCELLED,
-    FAILED
+    FAILED;
+
+    /**
+     * Statuses an order may move into this status from. A cancelled checkout may still be recorded as failed,
+     * since the auction saga cancels the order before marking the attempt as failed.
+     */
+    public Set<OrderStatus> allowedSources() {
+        return switch (this) {
+            case PENDING -> EnumSet.noneOf(OrderStatus.class);
+            case CONFIRMED -> EnumSet.of(PENDING);
+            case COMPLETED, CANCELLED -> EnumSet.of(PENDING, CONFIRMED);
+            case FAILED -> EnumSet.of(PENDING, CONFIRMED, CANCELLED);
+        };
+    }
+
+    /**
+     * Statuses in which checkout details (address, payment intent, ...) can still be written to the order.
+     */
+    public static Set<OrderStatus> openStatuses() {
+        return EnumSet.of(PENDING, CONFIRMED);
+    }
+
+    /**
+     * Statuses an order never leaves once it reaches them.
+     */
+    public static Set<OrderStatus> terminalStatuses() {
+        return EnumSet.of(COMPLETED, CANCELLED, FAILED);
+    }
 }
@@ -1,9 +1,25 @@
 package com.mazadak.orders.model.enumeration;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum PaymentStatus {
     PENDING,
     AUTHORIZED,
     CAPTURED,
     FAILED,
-    REFUNDED
+    REFUNDED;
+
+    /**
+     * Payment statuses an order may move into this payment status from.
+     */
+    public Set<PaymentStatus> allowedSources() {
+        return switch (this) {
+            case PENDING -> EnumSet.noneOf(PaymentStatus.class);
+            case AUTHORIZED -> EnumSet.of(PENDING);
+            case CAPTURED -> EnumSet.of(AUTHORIZED);
+            case FAILED -> EnumSet.of(PENDING, AUTHORIZED);
+            case REFUNDED -> EnumSet.of(CAPTURED);
+        };
+    }
 }
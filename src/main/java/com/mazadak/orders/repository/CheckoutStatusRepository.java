@@ -0,0 +1,27 @@
+package com.mazadak.orders.repository;
+
+import com.mazadak.orders.model.entity.CheckoutStatus;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.UUID;
+
+public interface CheckoutStatusRepository extends JpaRepository<CheckoutStatus, UUID> {
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update CheckoutStatus s set s.step = :target, s.updatedAt = :now
+            where s.orderId = :orderId and s.step in :sources
+            """)
+    int advanceStep(@Param("orderId") UUID orderId,
+                    @Param("sources") Collection<CheckoutStep> sources,
+                    @Param("target") CheckoutStep target,
+                    @Param("now") Instant now);
+}
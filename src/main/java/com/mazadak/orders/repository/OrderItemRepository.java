@@ -3,7 +3,10 @@ package com.mazadak.orders.repository;
 import com.mazadak.orders.model.entity.OrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface OrderItemRepository extends JpaRepository<OrderItem, UUID> {
+    List<OrderItem> findAllByOrderIdIn(Collection<UUID> orderIds);
 }
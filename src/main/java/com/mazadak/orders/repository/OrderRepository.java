@@ -1,11 +1,106 @@
 package com.mazadak.orders.repository;
 
+import com.mazadak.orders.dto.internal.OrderRoute;
 import com.mazadak.orders.model.entity.Order;
+import com.mazadak.orders.model.enumeration.OrderStatus;
+import com.mazadak.orders.model.enumeration.PaymentStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * The modifying queries below are single-statement conditional updates: each returns the number of rows it
+ * changed, which is 0 when the order is missing or its current state does not allow the change.
+ */
 public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order> {
 
+    @Query("""
+            select new com.mazadak.orders.dto.internal.OrderRoute(
+                o.workflowId, o.type, o.buyerId, o.idempotencyKey, o.auctionId
+            )
+            from Order o where o.id = :id
+            """)
+    Optional<OrderRoute> findRouteById(@Param("id") UUID id);
+
+    Optional<Order> findByIdempotencyKey(UUID idempotencyKey);
+
+    // holds the row until the caller's transaction ends, so checks made against it stay true for its updates
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") UUID id);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o set o.status = :target, o.updatedAt = :now
+            where o.id = :id and o.status in :sources
+            """)
+    int transitionStatus(@Param("id") UUID id,
+                         @Param("sources") Collection<OrderStatus> sources,
+                         @Param("target") OrderStatus target,
+                         @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o set o.paymentStatus = :target, o.updatedAt = :now
+            where o.id = :id and o.paymentStatus in :sources
+            """)
+    int transitionPaymentStatus(@Param("id") UUID id,
+                                @Param("sources") Collection<PaymentStatus> sources,
+                                @Param("target") PaymentStatus target,
+                                @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o set o.paymentIntentId = :paymentIntentId, o.updatedAt = :now
+            where o.id = :id and o.status in :statuses
+            """)
+    int updatePaymentIntentId(@Param("id") UUID id,
+                              @Param("paymentIntentId") String paymentIntentId,
+                              @Param("statuses") Collection<OrderStatus> statuses,
+                              @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o set o.clientSecret = :clientSecret, o.updatedAt = :now
+            where o.id = :id and o.status in :statuses
+            """)
+    int updateClientSecret(@Param("id") UUID id,
+                           @Param("clientSecret") String clientSecret,
+                           @Param("statuses") Collection<OrderStatus> statuses,
+                           @Param("now") Instant now);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Order o set
+                o.shippingAddress.street = :street,
+                o.shippingAddress.city = :city,
+                o.shippingAddress.state = :state,
+                o.shippingAddress.postalCode = :postalCode,
+                o.shippingAddress.country = :country,
+                o.updatedAt = :now
+            where o.id = :id and o.status in :statuses
+            """)
+    int updateShippingAddress(@Param("id") UUID id,
+                              @Param("street") String street,
+                              @Param("city") String city,
+                              @Param("state") String state,
+                              @Param("postalCode") String postalCode,
+                              @Param("country") String country,
+                              @Param("statuses") Collection<OrderStatus> statuses,
+                              @Param("now") Instant now);
 }
@@ -1,13 +1,22 @@
 package com.mazadak.orders.repository.specification;
 
+import com.mazadak.orders.dto.internal.OrderCursor;
 import com.mazadak.orders.dto.request.OrderFilterDto;
 import com.mazadak.orders.model.entity.Order;
+import com.mazadak.orders.model.entity.OrderItem;
 import com.mazadak.orders.model.enumeration.OrderStatus;
 import com.mazadak.orders.model.enumeration.OrderType;
-import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -25,11 +34,7 @@ public class OrderSpecifications {
                 return null;
             }
 
-            Join<Object, Object> items = root.join("orderItems");
-
-            query.distinct(true);
-
-            return items.get("sellerId").in(sellerIds);
+            return hasMatchingItem(root, query, builder, "sellerId", sellerIds);
         };
     }
 
@@ -62,14 +67,27 @@ public class OrderSpecifications {
                 return null;
             }
 
-            Join<Object, Object> items = root.join("orderItems");
-
-            query.distinct(true);
-
-            return items.get("productId").in(productIds);
+            return hasMatchingItem(root, query, builder, "productId", productIds);
         };
     }
 
+    /**
+     * {@code EXISTS} semi-join on order_items rather than a join, so no DISTINCT (or distinct count) is needed and
+     * the lookup is driven by the (attribute, order_id) index on order_items.
+     */
+    private static Predicate hasMatchingItem(Root<Order> root, CriteriaQuery<?> query, CriteriaBuilder builder,
+                                             String attribute, List<UUID> values) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Root<OrderItem> item = subquery.from(OrderItem.class);
+        subquery.select(builder.literal(1))
+                .where(
+                        builder.equal(item.get("order"), root),
+                        item.get(attribute).in(values)
+                );
+
+        return builder.exists(subquery);
+    }
+
     public static Specification<Order> hasAuctionId(UUID auctionId) {
         return (root, query, builder) -> {
             if (auctionId == null) return null;
@@ -84,6 +102,37 @@ public class OrderSpecifications {
         };
     }
 
+    /**
+     * Restricts to orders strictly after {@code cursor} in {@code (createdAt, id)} order. Written as
+     * {@code createdAt >= c AND (createdAt > c OR id > i)} so the leading bound stays an index range condition.
+     */
+    public static Specification<Order> isAfterCursor(OrderCursor cursor, Sort.Direction direction) {
+        return (root, query, builder) -> {
+            if (cursor == null) return null;
+
+            Path<Instant> createdAt = root.get("createdAt");
+            Path<UUID> id = root.get("id");
+
+            if (direction.isAscending()) {
+                return builder.and(
+                        builder.greaterThanOrEqualTo(createdAt, cursor.createdAt()),
+                        builder.or(
+                                builder.greaterThan(createdAt, cursor.createdAt()),
+                                builder.greaterThan(id, cursor.id())
+                        )
+                );
+            }
+
+            return builder.and(
+                    builder.lessThanOrEqualTo(createdAt, cursor.createdAt()),
+                    builder.or(
+                            builder.lessThan(createdAt, cursor.createdAt()),
+                            builder.lessThan(id, cursor.id())
+                    )
+            );
+        };
+    }
+
     public static Specification<Order> buildFromFilter(OrderFilterDto filter) {
         return Specification.allOf(
                 hasBuyerId(filter.buyerId()),
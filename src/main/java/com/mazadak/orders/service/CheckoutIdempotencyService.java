@@ -0,0 +1,10 @@
+package com.mazadak.orders.service;
+
+import io.temporal.api.common.v1.WorkflowExecution;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+public interface CheckoutIdempotencyService {
+    WorkflowExecution getOrStart(UUID idempotencyKey, UUID buyerId, Supplier<WorkflowExecution> start);
+}
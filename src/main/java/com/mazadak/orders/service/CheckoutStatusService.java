@@ -0,0 +1,15 @@
+package com.mazadak.orders.service;
+
+import com.mazadak.orders.dto.internal.CheckoutStatusResponse;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface CheckoutStatusService {
+    void recordCreated(UUID orderId, String workflowId);
+    void recordStep(UUID orderId, CheckoutStep step);
+    Optional<CheckoutStatusResponse> findStatus(UUID orderId);
+    void evictLocally(Collection<UUID> orderIds);
+}
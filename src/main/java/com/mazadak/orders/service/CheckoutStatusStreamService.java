@@ -0,0 +1,10 @@
+package com.mazadak.orders.service;
+
+import com.mazadak.orders.dto.internal.CheckoutStatusResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface CheckoutStatusStreamService {
+    SseEmitter subscribe(UUID orderId, CheckoutStatusResponse currentStatus);
+}
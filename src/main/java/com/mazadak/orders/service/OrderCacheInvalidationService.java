@@ -0,0 +1,7 @@
+package com.mazadak.orders.service;
+
+import java.util.UUID;
+
+public interface OrderCacheInvalidationService {
+    void broadcast(UUID orderId);
+}
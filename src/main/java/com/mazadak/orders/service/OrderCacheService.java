@@ -0,0 +1,13 @@
+package com.mazadak.orders.service;
+
+import com.mazadak.orders.dto.response.OrderResponse;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Function;
+
+public interface OrderCacheService {
+    OrderResponse get(UUID orderId, Function<UUID, OrderResponse> loader);
+    void invalidate(UUID orderId);
+    void evictLocally(Collection<UUID> orderIds);
+}
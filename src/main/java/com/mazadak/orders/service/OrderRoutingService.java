@@ -0,0 +1,9 @@
+package com.mazadak.orders.service;
+
+import com.mazadak.orders.dto.internal.OrderRoute;
+
+import java.util.UUID;
+
+public interface OrderRoutingService {
+    OrderRoute getRoute(UUID orderId);
+}
@@ -4,28 +4,34 @@ import com.mazadak.orders.dto.client.AuctionResponse;
 import com.mazadak.orders.dto.client.CartResponseDTO;
 import com.mazadak.orders.dto.request.CheckoutRequest;
 import com.mazadak.orders.dto.request.OrderFilterDto;
+import com.mazadak.orders.dto.response.CursorPageResponse;
 import com.mazadak.orders.dto.response.OrderResponse;
 import com.mazadak.orders.model.entity.Address;
 import com.mazadak.orders.model.enumeration.PaymentStatus;
 import com.mazadak.orders.dto.internal.AuctionCheckoutRequest;
+import com.mazadak.orders.dto.internal.OrderPatch;
 import com.mazadak.orders.model.entity.Order;
 import io.temporal.api.common.v1.WorkflowExecution;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface OrderService {
     OrderResponse getOrderById(UUID id);
     Page<OrderResponse> findOrdersByCriteria(OrderFilterDto filter, Pageable pageable);
+    CursorPageResponse<OrderResponse> scrollOrdersByCriteria(OrderFilterDto filter, String cursor, int size, Sort.Direction direction);
     WorkflowExecution checkout(UUID idempotencyKey, CheckoutRequest request);
-    void markCompleted(UUID orderId);
-    void markFailed(UUID orderId);
-    void markCancelled(UUID orderId);
+    OrderResponse checkoutAndAwaitOrder(UUID idempotencyKey, CheckoutRequest request);
+    boolean markCompleted(UUID orderId);
+    boolean markFailed(UUID orderId);
+    boolean markCancelled(UUID orderId);
     UUID createOrderForWinner(AuctionResponse auction, AuctionCheckoutRequest.BidderInfo bidder);
-    void setAddress(UUID orderId, Address address);
-    void setPaymentIntentId(UUID orderId, String paymentIntentId);
-    void setPaymentStatus(UUID orderId, PaymentStatus status);
+    boolean setAddress(UUID orderId, Address address);
+    boolean setPaymentIntentId(UUID orderId, String paymentIntentId);
+    boolean setPaymentStatus(UUID orderId, PaymentStatus status);
     OrderResponse createFixedPriceOrder(CheckoutRequest request, CartResponseDTO cart, UUID idempotencyKey);
 
     void assertOrderBelongsToBuyer(UUID orderId, UUID userId);
@@ -33,11 +39,13 @@ public interface OrderService {
     void cancelCheckout(UUID orderId);
     String getWorkflowIdForOrder(Order order);
     String getWorkflowIdByOrderId(UUID orderId);
-    void authorizePayment(UUID orderId, String paymentIntentId);
+    CompletableFuture<Void> authorizePayment(UUID orderId, String paymentIntentId);
 
-    void attachIntent(UUID orderId, String paymentIntentId, String clientSecret);
+    CompletableFuture<Void> attachIntent(UUID orderId, String paymentIntentId, String clientSecret);
 
-    void setClientSecret(UUID currentOrderId, String clientSecret);
+    boolean setClientSecret(UUID currentOrderId, String clientSecret);
 
     void assertAmountNotTooLarge(UUID orderId);
+
+    boolean applyPatch(UUID orderId, OrderPatch patch);
 }
@@ -0,0 +1,14 @@
+package com.mazadak.orders.service;
+
+import com.mazadak.orders.dto.event.ProductChangedEvent;
+import com.mazadak.orders.dto.response.ProductResponseDTO;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ProductCatalogService {
+    Map<UUID, ProductResponseDTO> getProducts(Collection<UUID> productIds);
+    void applyChange(ProductChangedEvent event);
+    void assertCurrent(Collection<ProductResponseDTO> products);
+}
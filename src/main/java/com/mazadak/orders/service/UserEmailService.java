@@ -0,0 +1,11 @@
+package com.mazadak.orders.service;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+public interface UserEmailService {
+    Optional<String> getEmail(UUID userId);
+    CompletableFuture<Void> prefetch(Collection<UUID> userIds);
+}
@@ -0,0 +1,79 @@
+package com.mazadak.orders.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mazadak.orders.exception.IdempotencyKeyConflictException;
+import com.mazadak.orders.service.CheckoutIdempotencyService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.temporal.api.common.v1.WorkflowExecution;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+@Service
+public class CheckoutIdempotencyServiceImpl implements CheckoutIdempotencyService {
+    static final String CACHE_NAME = "orders.checkout-idempotency";
+
+    /**
+     * The execution a key first started, kept for the window in which clients retry. Concurrent requests with the
+     * same key wait on the first one's start instead of racing it to Temporal. The start itself runs outside the
+     * cache's compute, so a slow Temporal call never holds up other keys.
+     */
+    private final AsyncCache<UUID, StartedCheckout> checkouts;
+
+    public CheckoutIdempotencyServiceImpl(
+            MeterRegistry meterRegistry,
+            @Value("${orders.checkout-idempotency.cache-size:10000}") long cacheSize,
+            @Value("${orders.checkout-idempotency.ttl:1h}") Duration ttl
+    ) {
+        this.checkouts = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, checkouts, CACHE_NAME);
+    }
+
+    @Override
+    public WorkflowExecution getOrStart(UUID idempotencyKey, UUID buyerId, Supplier<WorkflowExecution> start) {
+        CompletableFuture<StartedCheckout> started = new CompletableFuture<>();
+        CompletableFuture<StartedCheckout> existing = checkouts.get(idempotencyKey, (key, executor) -> started);
+        if (existing == started) {
+            try {
+                started.complete(new StartedCheckout(buyerId, start.get()));
+            } catch (RuntimeException e) {
+                // dropped right away so the client's retry starts again instead of seeing this failure
+                checkouts.asMap().remove(idempotencyKey, started);
+                started.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        StartedCheckout checkout = join(existing);
+        if (!checkout.buyerId().equals(buyerId)) {
+            throw new IdempotencyKeyConflictException(idempotencyKey);
+        }
+        return checkout.execution();
+    }
+
+    private static StartedCheckout join(CompletableFuture<StartedCheckout> checkout) {
+        try {
+            return checkout.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record StartedCheckout(UUID buyerId, WorkflowExecution execution) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.mazadak.orders.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mazadak.orders.dto.event.CheckoutStatusChangedEvent;
+import com.mazadak.orders.dto.internal.CheckoutStatusResponse;
+import com.mazadak.orders.mapper.CheckoutStatusMapper;
+import com.mazadak.orders.model.entity.CheckoutStatus;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+import com.mazadak.orders.repository.CheckoutStatusRepository;
+import com.mazadak.orders.service.CheckoutStatusService;
+import com.mazadak.orders.service.OrderCacheInvalidationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@Slf4j
+public class CheckoutStatusServiceImpl implements CheckoutStatusService {
+    private final CheckoutStatusRepository checkoutStatusRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrderCacheInvalidationService invalidationService;
+
+    /**
+     * Absorbs aggressive client polling. Entries are dropped on local writes and on invalidations broadcast by
+     * other replicas, so the TTL only bounds staleness when a broadcast is lost.
+     */
+    private final Cache<UUID, CheckoutStatusResponse> statusCache;
+
+    public CheckoutStatusServiceImpl(
+            CheckoutStatusRepository checkoutStatusRepository,
+            ApplicationEventPublisher eventPublisher,
+            OrderCacheInvalidationService invalidationService,
+            @Value("${orders.checkout-status.cache-ttl:30s}") Duration cacheTtl,
+            @Value("${orders.checkout-status.cache-size:10000}") long cacheSize
+    ) {
+        this.checkoutStatusRepository = checkoutStatusRepository;
+        this.eventPublisher = eventPublisher;
+        this.invalidationService = invalidationService;
+        this.statusCache = Caffeine.newBuilder()
+                .expireAfterWrite(cacheTtl)
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    @Override
+    public void recordCreated(UUID orderId, String workflowId) {
+        checkoutStatusRepository.save(new CheckoutStatus(orderId, workflowId, CheckoutStep.ORDER_CREATED, Instant.now()));
+        invalidate(orderId);
+        eventPublisher.publishEvent(new CheckoutStatusChangedEvent(orderId));
+    }
+
+    @Override
+    public void recordStep(UUID orderId, CheckoutStep step) {
+        int updated = checkoutStatusRepository.advanceStep(orderId, step.allowedSources(), step, Instant.now());
+        if (updated == 0) {
+            log.debug("Checkout status of order {} not moved to {}: missing or already past it", orderId, step);
+            return;
+        }
+        invalidate(orderId);
+        eventPublisher.publishEvent(new CheckoutStatusChangedEvent(orderId));
+    }
+
+    private void invalidate(UUID orderId) {
+        statusCache.invalidate(orderId);
+        invalidationService.broadcast(orderId);
+
+        // a poll between this write and its commit re-caches the old step; evict again once the outcome is known
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    statusCache.invalidate(orderId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public Optional<CheckoutStatusResponse> findStatus(UUID orderId) {
+        // a missing row is not cached, so checkouts without a projection keep falling back to Temporal
+        return Optional.ofNullable(statusCache.get(orderId, id -> checkoutStatusRepository.findById(id)
+                .map(CheckoutStatusMapper::toResponse)
+                .orElse(null)));
+    }
+
+    @Override
+    public void evictLocally(Collection<UUID> orderIds) {
+        statusCache.invalidateAll(orderIds);
+    }
+}
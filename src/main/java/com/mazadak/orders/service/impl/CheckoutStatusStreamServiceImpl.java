@@ -0,0 +1,171 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.dto.event.CheckoutStatusChangedEvent;
+import com.mazadak.orders.dto.internal.CheckoutStatusResponse;
+import com.mazadak.orders.mapper.CheckoutStatusMapper;
+import com.mazadak.orders.model.entity.CheckoutStatus;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+import com.mazadak.orders.repository.CheckoutStatusRepository;
+import com.mazadak.orders.service.CheckoutStatusStreamService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Pushes checkout step transitions to Server-Sent Events subscribers. Emitters are completed asynchronously, so an
+ * open subscription holds no request thread.
+ * <p>
+ * Transitions written by this instance are pushed as soon as they commit. Transitions written by other instances
+ * are picked up by a periodic sweep that reads all subscribed orders with a single query.
+ */
+@Service
+@Slf4j
+public class CheckoutStatusStreamServiceImpl implements CheckoutStatusStreamService {
+    static final String EVENT_NAME = "checkout-status";
+
+    private final CheckoutStatusRepository checkoutStatusRepository;
+    private final Duration emitterTimeout;
+    private final Map<UUID, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    public CheckoutStatusStreamServiceImpl(
+            CheckoutStatusRepository checkoutStatusRepository,
+            @Value("${orders.checkout-status.stream-timeout:30m}") Duration emitterTimeout
+    ) {
+        this.checkoutStatusRepository = checkoutStatusRepository;
+        this.emitterTimeout = emitterTimeout;
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID orderId, CheckoutStatusResponse currentStatus) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+
+        if (currentStatus != null) {
+            if (!send(emitter, currentStatus)) {
+                return emitter;
+            }
+            if (isFinal(currentStatus)) {
+                emitter.complete();
+                return emitter;
+            }
+        }
+
+        subscriptions.compute(orderId, (id, subscription) -> {
+            Subscription target = subscription != null
+                    ? subscription
+                    : new Subscription(currentStatus != null ? currentStatus.step() : null);
+            target.emitters.add(emitter);
+            return target;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(orderId, emitter));
+        emitter.onTimeout(() -> unsubscribe(orderId, emitter));
+        emitter.onError(e -> unsubscribe(orderId, emitter));
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCheckoutStatusChanged(CheckoutStatusChangedEvent event) {
+        if (!subscriptions.containsKey(event.orderId())) {
+            return;
+        }
+
+        checkoutStatusRepository.findById(event.orderId()).ifPresent(this::publish);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.checkout-status.stream-sweep-interval:1s}")
+    public void sweepSubscribedOrders() {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+
+        checkoutStatusRepository.findAllById(Set.copyOf(subscriptions.keySet())).forEach(this::publish);
+    }
+
+    int subscribedOrderCount() {
+        return subscriptions.size();
+    }
+
+    CheckoutStep lastSentStep(UUID orderId) {
+        Subscription subscription = subscriptions.get(orderId);
+        return subscription != null ? subscription.lastStep : null;
+    }
+
+    private void publish(CheckoutStatus checkoutStatus) {
+        Subscription subscription = subscriptions.get(checkoutStatus.getOrderId());
+        if (subscription == null) {
+            return;
+        }
+
+        CheckoutStatusResponse response = CheckoutStatusMapper.toResponse(checkoutStatus);
+        // the listener and the sweep publish from different threads; sending under the lock keeps a late, older step
+        // from reaching subscribers after a newer one
+        synchronized (subscription) {
+            if (!subscription.advanceTo(checkoutStatus.getStep())) {
+                return;
+            }
+            subscription.emitters.forEach(emitter -> {
+                if (send(emitter, response) && isFinal(response)) {
+                    emitter.complete();
+                }
+            });
+        }
+
+        if (isFinal(response)) {
+            subscriptions.remove(checkoutStatus.getOrderId());
+        }
+    }
+
+    private boolean send(SseEmitter emitter, CheckoutStatusResponse status) {
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(status));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping checkout status subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(UUID orderId, SseEmitter emitter) {
+        subscriptions.computeIfPresent(orderId, (id, subscription) -> {
+            subscription.emitters.remove(emitter);
+            return subscription.emitters.isEmpty() ? null : subscription;
+        });
+    }
+
+    private static boolean isFinal(CheckoutStatusResponse status) {
+        return !"RUNNING".equals(status.status());
+    }
+
+    private static final class Subscription {
+        private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+        private CheckoutStep lastStep;
+
+        private Subscription(CheckoutStep lastStep) {
+            this.lastStep = lastStep;
+        }
+
+        /**
+         * Records the step as sent, returning false when subscribers already saw it or a later step.
+         */
+        private synchronized boolean advanceTo(CheckoutStep step) {
+            if (lastStep != null && !step.allowedSources().contains(lastStep)) {
+                return false;
+            }
+            lastStep = step;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.dto.event.OrderCacheInvalidatedEvent;
+import com.mazadak.orders.service.OrderCacheInvalidationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the ids of changed orders and periodically broadcasts them as one {@link OrderCacheInvalidatedEvent}
+ * per batch. Ids changed inside a transaction are only queued once it commits, so other replicas never reload the
+ * state that is about to be replaced; repeated changes of the same order within one flush interval collapse into a
+ * single id.
+ */
+@Service
+@Slf4j
+public class OrderCacheInvalidationServiceImpl implements OrderCacheInvalidationService {
+    private final ApplicationEventPublisher eventPublisher;
+    private final String busId;
+    private final int maxBatchSize;
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    public OrderCacheInvalidationServiceImpl(
+            ApplicationEventPublisher eventPublisher,
+            @Value("${spring.cloud.bus.id:orders}") String busId,
+            @Value("${orders.cache-invalidation.max-batch-size:500}") int maxBatchSize
+    ) {
+        this.eventPublisher = eventPublisher;
+        this.busId = busId;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    @Override
+    public void broadcast(UUID orderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(orderId);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pending.add(orderId);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${orders.cache-invalidation.flush-interval:200ms}")
+    public void flush() {
+        while (!pending.isEmpty()) {
+            List<UUID> batch = new ArrayList<>(Math.min(pending.size(), maxBatchSize));
+            Iterator<UUID> ids = pending.iterator();
+            while (ids.hasNext() && batch.size() < maxBatchSize) {
+                batch.add(ids.next());
+                ids.remove();
+            }
+
+            log.debug("Broadcasting cache invalidation of {} orders", batch.size());
+            eventPublisher.publishEvent(new OrderCacheInvalidatedEvent(this, busId, batch));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.mazadak.orders.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mazadak.orders.dto.response.OrderResponse;
+import com.mazadak.orders.model.enumeration.OrderStatus;
+import com.mazadak.orders.service.OrderCacheInvalidationService;
+import com.mazadak.orders.service.OrderCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Service
+public class OrderCacheServiceImpl implements OrderCacheService {
+    static final String CACHE_NAME = "orders.order-response";
+
+    private final OrderCacheInvalidationService invalidationService;
+
+    /**
+     * Orders in a terminal status never change and are kept for {@code terminal-ttl}. In-flight orders are kept
+     * for {@code in-flight-ttl}; writes on other replicas reach this cache through bus invalidations, so that TTL
+     * only bounds staleness when a broadcast is lost.
+     */
+    private final Cache<UUID, OrderResponse> orders;
+
+    public OrderCacheServiceImpl(
+            OrderCacheInvalidationService invalidationService,
+            MeterRegistry meterRegistry,
+            @Value("${orders.order-cache.size:10000}") long size,
+            @Value("${orders.order-cache.terminal-ttl:1h}") Duration terminalTtl,
+            @Value("${orders.order-cache.in-flight-ttl:1m}") Duration inFlightTtl
+    ) {
+        this.invalidationService = invalidationService;
+        this.orders = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfter(Expiry.creating((UUID orderId, OrderResponse order) ->
+                        OrderStatus.terminalStatuses().contains(order.status()) ? terminalTtl : inFlightTtl))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, orders, CACHE_NAME);
+    }
+
+    @Override
+    public OrderResponse get(UUID orderId, Function<UUID, OrderResponse> loader) {
+        return orders.get(orderId, loader);
+    }
+
+    /**
+     * Evicts the order now and, when called inside a transaction, once more after it completes, so a read that
+     * raced with the uncommitted write cannot leave the old state cached. Other replicas evict it on the next
+     * invalidation broadcast.
+     */
+    @Override
+    public void invalidate(UUID orderId) {
+        orders.invalidate(orderId);
+        invalidationService.broadcast(orderId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    orders.invalidate(orderId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void evictLocally(Collection<UUID> orderIds) {
+        orders.invalidateAll(orderIds);
+    }
+}
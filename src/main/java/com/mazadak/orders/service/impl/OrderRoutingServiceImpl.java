@@ -0,0 +1,45 @@
+package com.mazadak.orders.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mazadak.common.exception.shared.ResourceNotFoundException;
+import com.mazadak.orders.dto.internal.OrderRoute;
+import com.mazadak.orders.repository.OrderRepository;
+import com.mazadak.orders.service.OrderRoutingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+public class OrderRoutingServiceImpl implements OrderRoutingService {
+    private final OrderRepository orderRepository;
+
+    /**
+     * Routes never change once an order exists, so entries need no invalidation; the bounds only keep the cache
+     * to orders with a checkout in progress. Ownership checks and signal routing of one request share the entry.
+     */
+    private final Cache<UUID, OrderRoute> routes;
+
+    public OrderRoutingServiceImpl(
+            OrderRepository orderRepository,
+            @Value("${orders.order-routing.cache-size:10000}") long cacheSize,
+            @Value("${orders.order-routing.expire-after-access:30m}") Duration expireAfterAccess
+    ) {
+        this.orderRepository = orderRepository;
+        this.routes = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    @Override
+    public OrderRoute getRoute(UUID orderId) {
+        OrderRoute route = routes.get(orderId, id -> orderRepository.findRouteById(id).orElse(null));
+        if (route == null) {
+            throw new ResourceNotFoundException("Order", "Id", orderId.toString());
+        }
+        return route;
+    }
+}
@@ -1,12 +1,15 @@
 package com.mazadak.orders.service.impl;
 
 import com.mazadak.common.exception.shared.ResourceNotFoundException;
-import com.mazadak.orders.client.ProductClient;
 import com.mazadak.orders.dto.client.AuctionResponse;
 import com.mazadak.orders.dto.client.CartItemResponseDTO;
 import com.mazadak.orders.dto.client.CartResponseDTO;
 import com.mazadak.orders.dto.request.CheckoutRequest;
+import com.mazadak.orders.dto.internal.OrderCursor;
+import com.mazadak.orders.dto.internal.OrderPatch;
+import com.mazadak.orders.dto.internal.OrderRoute;
 import com.mazadak.orders.dto.request.OrderFilterDto;
+import com.mazadak.orders.dto.response.CursorPageResponse;
 import com.mazadak.orders.dto.response.OrderResponse;
 import com.mazadak.orders.dto.response.ProductResponseDTO;
 import com.mazadak.orders.exception.AmountTooLargeException;
@@ -14,13 +17,19 @@ import com.mazadak.orders.mapper.OrderMapper;
 import com.mazadak.orders.model.entity.Address;
 import com.mazadak.orders.model.entity.Order;
 import com.mazadak.orders.model.entity.OrderItem;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
 import com.mazadak.orders.model.enumeration.OrderStatus;
 import com.mazadak.orders.model.enumeration.OrderType;
 import com.mazadak.orders.model.enumeration.PaymentStatus;
 import com.mazadak.orders.repository.OrderItemRepository;
 import com.mazadak.orders.repository.OrderRepository;
 import com.mazadak.orders.repository.specification.OrderSpecifications;
+import com.mazadak.orders.service.CheckoutIdempotencyService;
+import com.mazadak.orders.service.CheckoutStatusService;
+import com.mazadak.orders.service.OrderCacheService;
+import com.mazadak.orders.service.OrderRoutingService;
 import com.mazadak.orders.service.OrderService;
+import com.mazadak.orders.service.ProductCatalogService;
 import com.mazadak.orders.dto.internal.AuctionCheckoutRequest;
 import com.mazadak.orders.workflow.starter.AuctionCheckoutStarter;
 import com.mazadak.orders.workflow.starter.FixedPriceCheckoutStarter;
@@ -30,18 +39,22 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -49,14 +62,22 @@ import java.util.stream.Collectors;
 @Slf4j
 public class OrderServiceImpl implements OrderService {
     private final OrderRepository orderRepository;
-    private final ProductClient productClient;
+    private final ProductCatalogService productCatalogService;
     private final FixedPriceCheckoutStarter fixedPriceCheckoutStarter;
     private final AuctionCheckoutStarter auctionCheckoutStarter;
     private final OrderItemRepository orderItemRepository;
+    private final CheckoutStatusService checkoutStatusService;
+    private final OrderRoutingService orderRoutingService;
+    private final OrderCacheService orderCacheService;
+    private final CheckoutIdempotencyService checkoutIdempotencyService;
 
 
     @Override
     public OrderResponse getOrderById(UUID id) {
+        return orderCacheService.get(id, this::loadOrder);
+    }
+
+    private OrderResponse loadOrder(UUID id) {
         var order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "id", id.toString()));
 
@@ -66,40 +87,116 @@ public class OrderServiceImpl implements OrderService {
     @Override
     public Page<OrderResponse> findOrdersByCriteria(OrderFilterDto filter, Pageable pageable) {
         Specification<Order> specification = OrderSpecifications.buildFromFilter(filter);
-        return orderRepository.findAll(specification, pageable)
-                .map(OrderMapper::toResponse);
+        Page<Order> orders = orderRepository.findAll(specification, pageable);
+        Map<UUID, List<OrderItem>> itemsByOrderId = findItemsByOrderId(orders.getContent());
+
+        return orders.map(order -> OrderMapper.toResponse(order, itemsByOrderId.getOrDefault(order.getId(), List.of())));
+    }
+
+    @Override
+    public CursorPageResponse<OrderResponse> scrollOrdersByCriteria(OrderFilterDto filter, String cursor, int size, Sort.Direction direction) {
+        Specification<Order> specification = OrderSpecifications.buildFromFilter(filter)
+                .and(OrderSpecifications.isAfterCursor(OrderCursor.decode(cursor), direction));
+        Sort sort = Sort.by(direction, "createdAt", "id");
+
+        // fetch one extra row to learn whether another slice exists, instead of issuing a count query
+        List<Order> orders = orderRepository.findBy(specification, query -> query.sortBy(sort).limit(size + 1).all());
+
+        boolean hasNext = orders.size() > size;
+        List<Order> content = hasNext ? orders.subList(0, size) : orders;
+        String nextCursor = hasNext ? OrderCursor.of(content.getLast()).encode() : null;
+
+        Map<UUID, List<OrderItem>> itemsByOrderId = findItemsByOrderId(content);
+
+        return new CursorPageResponse<>(
+                content.stream()
+                        .map(order -> OrderMapper.toResponse(order, itemsByOrderId.getOrDefault(order.getId(), List.of())))
+                        .toList(),
+                nextCursor,
+                hasNext
+        );
+    }
+
+    /**
+     * Loads the items of a whole listing page with a single {@code IN} query instead of one lazy load per order.
+     */
+    private Map<UUID, List<OrderItem>> findItemsByOrderId(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return Map.of();
+        }
+
+        List<UUID> orderIds = orders.stream().map(Order::getId).toList();
+        return orderItemRepository.findAllByOrderIdIn(orderIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getOrder().getId()));
     }
 
     @Override
     public WorkflowExecution checkout(UUID idempotencyKey, CheckoutRequest request) {
         log.info("Checkout request: {}", request);
-        return fixedPriceCheckoutStarter.startFixedPriceCheckout(idempotencyKey, request);
+        return checkoutIdempotencyService.getOrStart(idempotencyKey, request.userId(),
+                () -> fixedPriceCheckoutStarter.startFixedPriceCheckout(idempotencyKey, request));
     }
 
     @Override
-    public void markCompleted(UUID orderId) {
-        setStatus(orderId, OrderStatus.COMPLETED);
+    public OrderResponse checkoutAndAwaitOrder(UUID idempotencyKey, CheckoutRequest request) {
+        log.info("Synchronous checkout request: {}", request);
+        return fixedPriceCheckoutStarter.startFixedPriceCheckoutAndAwaitOrder(idempotencyKey, request);
     }
 
     @Override
-    public void markFailed(UUID orderId) {
-        setStatus(orderId, OrderStatus.FAILED);
+    @Transactional
+    public boolean markCompleted(UUID orderId) {
+        return setStatus(orderId, OrderStatus.COMPLETED);
     }
 
     @Override
-    public void markCancelled(UUID orderId) {
-        setStatus(orderId, OrderStatus.CANCELLED);
+    @Transactional
+    public boolean markFailed(UUID orderId) {
+        return setStatus(orderId, OrderStatus.FAILED);
     }
 
-    private void setStatus(UUID orderId, OrderStatus newStatus) {
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId.toString()));
+    @Override
+    @Transactional
+    public boolean markCancelled(UUID orderId) {
+        return setStatus(orderId, OrderStatus.CANCELLED);
+    }
+
+    private boolean setStatus(UUID orderId, OrderStatus newStatus) {
+        int updated = orderRepository.transitionStatus(orderId, newStatus.allowedSources(), newStatus, Instant.now());
+        return recordStep(orderId, isApplied(orderId, updated, "status " + newStatus), CheckoutStep.fromOrderStatus(newStatus));
+    }
 
-        order.setStatus(newStatus);
-        orderRepository.save(order);
+    /**
+     * Interprets the row count of a conditional update. A missing order is an error, while an order whose current
+     * state does not allow the change (e.g. an activity retry after the change already committed) is a no-op.
+     * An applied change drops the cached response of the order.
+     */
+    private boolean isApplied(UUID orderId, int updatedRows, String change) {
+        if (updatedRows > 0) {
+            orderCacheService.invalidate(orderId);
+            return true;
+        }
+
+        if (!orderRepository.existsById(orderId)) {
+            throw new ResourceNotFoundException("Order", "id", orderId.toString());
+        }
+
+        log.warn("Skipped {} for order {}: not allowed from its current state", change, orderId);
+        return false;
+    }
+
+    /**
+     * Moves the checkout status projection along with an order change, only once that change was applied.
+     */
+    private boolean recordStep(UUID orderId, boolean applied, Optional<CheckoutStep> step) {
+        if (applied) {
+            step.ifPresent(s -> checkoutStatusService.recordStep(orderId, s));
+        }
+        return applied;
     }
 
     @Override
+    @Transactional
     public UUID createOrderForWinner(AuctionResponse auction, AuctionCheckoutRequest.BidderInfo bidder) {
         var order = new Order();
         order.setBuyerId(bidder.id());
@@ -121,40 +218,52 @@ public class OrderServiceImpl implements OrderService {
         order.setOrderItems(List.of(orderItem));
 
 //        orderItemRepository.save(orderItem);
+        order.setWorkflowId(getWorkflowIdForOrder(order));
         var saved = orderRepository.save(order);
+        checkoutStatusService.recordCreated(saved.getId(), saved.getWorkflowId());
 
         return saved.getId();
     }
 
     @Override
-    public void setAddress(UUID orderId, Address address) {
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId.toString()));
-
-        order.setShippingAddress(address);
-        orderRepository.save(order);
+    @Transactional
+    public boolean setAddress(UUID orderId, Address address) {
+        int updated = orderRepository.updateShippingAddress(
+                orderId,
+                address.getStreet(),
+                address.getCity(),
+                address.getState(),
+                address.getPostalCode(),
+                address.getCountry(),
+                OrderStatus.openStatuses(),
+                Instant.now()
+        );
+        return recordStep(orderId, isApplied(orderId, updated, "shipping address"), Optional.of(CheckoutStep.ADDRESS_RECEIVED));
     }
 
     @Override
-    public void setPaymentIntentId(UUID orderId, String paymentIntentId) {
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId.toString()));
-
-        order.setPaymentIntentId(paymentIntentId);
-        orderRepository.save(order);
+    @Transactional
+    public boolean setPaymentIntentId(UUID orderId, String paymentIntentId) {
+        int updated = orderRepository.updatePaymentIntentId(orderId, paymentIntentId, OrderStatus.openStatuses(), Instant.now());
+        return recordStep(orderId, isApplied(orderId, updated, "payment intent"), Optional.of(CheckoutStep.INTENT_CREATED));
     }
 
     @Override
-    public void setPaymentStatus(UUID orderId, PaymentStatus status) {
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId.toString()));
-
-        order.setPaymentStatus(status);
-        orderRepository.save(order);
+    @Transactional
+    public boolean setPaymentStatus(UUID orderId, PaymentStatus status) {
+        int updated = orderRepository.transitionPaymentStatus(orderId, status.allowedSources(), status, Instant.now());
+        return recordStep(orderId, isApplied(orderId, updated, "payment status " + status), CheckoutStep.fromPaymentStatus(status));
     }
 
     @Override
+    @Transactional
     public OrderResponse createFixedPriceOrder(CheckoutRequest request, CartResponseDTO cart, UUID idempotencyKey) {
+        // The key is unique per order, so an activity retry after a committed attempt returns that order.
+        Optional<Order> existing = orderRepository.findByIdempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            log.info("Order {} already created for idempotency key {}", existing.get().getId(), idempotencyKey);
+            return OrderMapper.toResponse(existing.get());
+        }
 
         Order order = new Order();
         order.setBuyerId(request.userId());
@@ -170,17 +279,13 @@ public class OrderServiceImpl implements OrderService {
                 .map(CartItemResponseDTO::productId)
                 .toList();
 
-        List<ProductResponseDTO> products = productClient.getProductsByIds(productIds).getBody();
-
-        // Create a map of product IDs to product details for fast lookup
-        Map<UUID, ProductResponseDTO> productMap = products.stream()
-                .collect(Collectors.toMap(ProductResponseDTO::productId, Function.identity()));
+        Map<UUID, ProductResponseDTO> productMap = productCatalogService.getProducts(productIds);
 
         BigDecimal totalAmount = BigDecimal.ZERO;
         List<OrderItem> orderItems = new ArrayList<>();
 
         for (CartItemResponseDTO cartItem : cart.cartItems()) {
-            log.info("Mapping cart item {} to order item", cartItem.productId());
+            log.debug("Mapping cart item {} to order item", cartItem.productId());
             ProductResponseDTO product = productMap.get(cartItem.productId());
             if (product == null) {
                 log.error("Product not found: {}", cartItem.productId());
@@ -200,15 +305,19 @@ public class OrderServiceImpl implements OrderService {
             totalAmount = totalAmount.add(itemTotal);
 
             orderItems.add(orderItem);
-            log.info("Added order item {} to order {}", orderItem.getId(), order.getId());
+            log.debug("Added order item {} to order {}", orderItem.getId(), order.getId());
         }
 
         log.info("Setting order total amount to {}", totalAmount);
         order.setTotalAmount(totalAmount);
         order.setOrderItems(orderItems);
 
+        productCatalogService.assertCurrent(productMap.values());
+
         log.info("Saving order {}", order);
+        order.setWorkflowId(getWorkflowIdForOrder(order));
         Order createdOrder = orderRepository.save(order);
+        checkoutStatusService.recordCreated(createdOrder.getId(), createdOrder.getWorkflowId());
 
         log.info("Order saved successfully");
 
@@ -217,16 +326,15 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public void assertOrderBelongsToBuyer(UUID orderId, UUID userId) {
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "Id", orderId.toString()));
+        var route = orderRoutingService.getRoute(orderId);
 
-        if (!userId.equals(order.getBuyerId())) {
+        if (!userId.equals(route.buyerId())) {
             throw new ResponseStatusException(
                     HttpStatus.FORBIDDEN,
                     String.format(
                             "User %s not authorized to work with order %s",
                             userId,
-                            order
+                            orderId
                     )
             );
         }
@@ -234,66 +342,36 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public String getWorkflowIdByOrderId(UUID orderId) {
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "Id", orderId.toString()));
-
-        return getWorkflowIdForOrder(order);
+        return orderRoutingService.getRoute(orderId).workflowId();
     }
 
     @Override
-    public void authorizePayment(UUID orderId, String paymentIntentId) {
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "Id", orderId.toString()));
+    public CompletableFuture<Void> authorizePayment(UUID orderId, String paymentIntentId) {
+        var route = orderRoutingService.getRoute(orderId);
 
-        var id = getWorkflowIdForOrder(order);
-
-        if (order.getType() == OrderType.FIXED_PRICE) {
-            fixedPriceCheckoutStarter.sendPaymentAuthorized(
-                    order.getIdempotencyKey(),
-                    orderId,
-                    paymentIntentId
-            );
+        if (route.type() == OrderType.FIXED_PRICE) {
+            return fixedPriceCheckoutStarter.sendPaymentAuthorized(route.workflowId(), orderId, paymentIntentId);
         } else {
-            auctionCheckoutStarter.sendPaymentAuthorized(
-                    orderId,
-                    order.getAuctionId(),
-                    paymentIntentId
-            );
+            return auctionCheckoutStarter.sendPaymentAuthorized(route.workflowId(), orderId, paymentIntentId);
         }
     }
 
     @Override
-    public void attachIntent(UUID orderId, String paymentIntentId, String clientSecret) {
+    public CompletableFuture<Void> attachIntent(UUID orderId, String paymentIntentId, String clientSecret) {
         log.info("Attaching intent {} to order {}", paymentIntentId, orderId);
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "Id", orderId.toString()));
+        var route = orderRoutingService.getRoute(orderId);
 
-        var id = getWorkflowIdForOrder(order);
-
-        if (order.getType() == OrderType.FIXED_PRICE) {
-            fixedPriceCheckoutStarter.sendIntentCreated(
-                    order.getIdempotencyKey(),
-                    orderId,
-                    paymentIntentId,
-                    clientSecret
-            );
+        if (route.type() == OrderType.FIXED_PRICE) {
+            return fixedPriceCheckoutStarter.sendIntentCreated(route.workflowId(), orderId, paymentIntentId, clientSecret);
         } else {
-            auctionCheckoutStarter.sendIntentCreated(
-                    orderId,
-                    order.getAuctionId(),
-                    paymentIntentId,
-                    clientSecret
-            );
+            return auctionCheckoutStarter.sendIntentCreated(route.workflowId(), orderId, paymentIntentId, clientSecret);
         }
     }
 
     @Override
-    public void setClientSecret(UUID orderId, String clientSecret) {
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId.toString()));
-
-        order.setClientSecret(clientSecret);
-        orderRepository.save(order);
+    public boolean setClientSecret(UUID orderId, String clientSecret) {
+        int updated = orderRepository.updateClientSecret(orderId, clientSecret, OrderStatus.openStatuses(), Instant.now());
+        return isApplied(orderId, updated, "client secret");
     }
 
     @Override
@@ -306,32 +384,54 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    @Override
+    @Transactional
+    public boolean applyPatch(UUID orderId, OrderPatch patch) {
+        // all or nothing: checked up front under a row lock, so a refused transition leaves the other fields unwritten
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId.toString()));
+        if (!patch.appliesTo(order.getStatus(), order.getPaymentStatus())) {
+            log.warn("Skipped patch {} for order {}: not allowed from status {} / payment status {}",
+                    patch, orderId, order.getStatus(), order.getPaymentStatus());
+            return false;
+        }
+
+        boolean applied = true;
+
+        if (patch.shippingAddress() != null) {
+            applied &= setAddress(orderId, patch.shippingAddress());
+        }
+        if (patch.paymentIntentId() != null) {
+            applied &= setPaymentIntentId(orderId, patch.paymentIntentId());
+        }
+        if (patch.clientSecret() != null) {
+            applied &= setClientSecret(orderId, patch.clientSecret());
+        }
+        if (patch.paymentStatus() != null) {
+            applied &= setPaymentStatus(orderId, patch.paymentStatus());
+        }
+        if (patch.status() != null) {
+            applied &= setStatus(orderId, patch.status());
+        }
+
+        return applied;
+    }
+
     @Override
     public String getWorkflowIdForOrder(Order order) {
-        return order.getType() == OrderType.FIXED_PRICE ?
-                "fixed-price-checkout-" + order.getIdempotencyKey() :
-                "auction-checkout-" + order.getAuctionId();
+        return order.getWorkflowId() != null ?
+                order.getWorkflowId() :
+                OrderRoute.workflowIdFor(order.getType(), order.getIdempotencyKey(), order.getAuctionId());
     }
 
     @Override
     public void cancelCheckout(UUID orderId) {
-        var order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order", "Id", orderId.toString()));
-
-        var id = getWorkflowIdForOrder(order);
+        var route = orderRoutingService.getRoute(orderId);
 
-        if (order.getType() == OrderType.FIXED_PRICE) {
-            fixedPriceCheckoutStarter.sendCheckoutCancelled(
-                    order.getIdempotencyKey(),
-                    orderId,
-                    "User cancelled checkout"
-            );
+        if (route.type() == OrderType.FIXED_PRICE) {
+            fixedPriceCheckoutStarter.sendCheckoutCancelled(route.workflowId(), orderId, "User cancelled checkout");
         } else {
-            auctionCheckoutStarter.sendCheckoutCancelled(
-                    orderId,
-                    order.getAuctionId(),
-                    "User cancelled checkout"
-            );
+            auctionCheckoutStarter.sendCheckoutCancelled(route.workflowId(), orderId, "User cancelled checkout");
         }
     }
 }
@@ -0,0 +1,143 @@
+package com.mazadak.orders.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mazadak.orders.client.ProductBatchLoader;
+import com.mazadak.orders.dto.event.ProductChangedEvent;
+import com.mazadak.orders.dto.response.ProductResponseDTO;
+import com.mazadak.orders.exception.StaleProductSnapshotException;
+import com.mazadak.orders.service.ProductCatalogService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+@Service
+@Slf4j
+public class ProductCatalogServiceImpl implements ProductCatalogService {
+    static final String CACHE_NAME = "orders.product-snapshot";
+
+    private static final Comparator<Long> VERSIONS = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final ProductBatchLoader productBatchLoader;
+
+    /**
+     * Product snapshots, loaded on demand and then kept fresh by catalog change events, so checkouts of known
+     * products price their carts without a remote call. An entry is only ever replaced by a newer version; the TTL
+     * bounds staleness when an event is lost. The catalog does not send versions yet, so changes evict entries
+     * instead (see {@link #applyChange}) and the TTL stays short.
+     */
+    private final Cache<UUID, ProductResponseDTO> products;
+
+    public ProductCatalogServiceImpl(
+            ProductBatchLoader productBatchLoader,
+            MeterRegistry meterRegistry,
+            @Value("${orders.product-snapshot.cache-size:10000}") long cacheSize,
+            @Value("${orders.product-snapshot.ttl:5s}") Duration ttl
+    ) {
+        this.productBatchLoader = productBatchLoader;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, products, CACHE_NAME);
+    }
+
+    /**
+     * Misses are loaded through the batch loader, so they are coalesced across threads. Loaded snapshots are merged
+     * rather than put, so a slow load cannot overwrite a newer version an event delivered in the meantime.
+     */
+    @Override
+    public Map<UUID, ProductResponseDTO> getProducts(Collection<UUID> productIds) {
+        Map<UUID, ProductResponseDTO> found = new HashMap<>(products.getAllPresent(productIds));
+        List<UUID> missing = new ArrayList<>();
+        for (UUID productId : productIds) {
+            if (!found.containsKey(productId)) {
+                missing.add(productId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        load(missing).forEach((productId, loaded) ->
+                found.put(productId, products.asMap().merge(productId, loaded, ProductCatalogServiceImpl::newer)));
+        return found;
+    }
+
+    private Map<UUID, ProductResponseDTO> load(Collection<UUID> productIds) {
+        try {
+            return productBatchLoader.load(productIds).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Applies a catalog change to a cached snapshot. Products that are not cached are skipped; they are loaded in
+     * full on their next checkout. Without a version on both sides the change cannot be ordered against the
+     * snapshot, so the entry is evicted and reloaded instead.
+     */
+    @Override
+    public void applyChange(ProductChangedEvent event) {
+        ProductResponseDTO updated = products.asMap().computeIfPresent(event.productId(), (productId, current) -> {
+            if (event.version() == null || current.version() == null) {
+                return null;
+            }
+            return event.version() > current.version() ? merge(current, event) : current;
+        });
+
+        if (updated != null) {
+            log.debug("Product {} snapshot now at version {}", event.productId(), updated.version());
+        }
+    }
+
+    /**
+     * Staleness guard for a priced cart: fails when a change newer than one of the snapshots arrived after the cart
+     * was priced, so the caller re-prices instead of persisting an outdated price.
+     */
+    @Override
+    public void assertCurrent(Collection<ProductResponseDTO> priced) {
+        for (ProductResponseDTO product : priced) {
+            ProductResponseDTO current = products.getIfPresent(product.productId());
+            if (current != null && VERSIONS.compare(current.version(), product.version()) > 0) {
+                throw new StaleProductSnapshotException(product.productId(), product.version(), current.version());
+            }
+        }
+    }
+
+    private static ProductResponseDTO newer(ProductResponseDTO current, ProductResponseDTO loaded) {
+        return VERSIONS.compare(current.version(), loaded.version()) > 0 ? current : loaded;
+    }
+
+    private static ProductResponseDTO merge(ProductResponseDTO current, ProductChangedEvent event) {
+        return new ProductResponseDTO(
+                current.productId(),
+                changedOrCurrent(event.sellerId(), current.sellerId()),
+                changedOrCurrent(event.title(), current.title()),
+                changedOrCurrent(event.description(), current.description()),
+                changedOrCurrent(event.price(), current.price()),
+                event.version()
+        );
+    }
+
+    private static <T> T changedOrCurrent(T changed, T current) {
+        return changed != null ? changed : current;
+    }
+}
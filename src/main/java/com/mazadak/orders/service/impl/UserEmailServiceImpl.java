@@ -0,0 +1,116 @@
+package com.mazadak.orders.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.mazadak.orders.client.UserClient;
+import com.mazadak.orders.dto.client.UserProfileResponse;
+import com.mazadak.orders.service.UserEmailService;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+@Service
+@Slf4j
+public class UserEmailServiceImpl implements UserEmailService {
+    static final String CACHE_NAME = "orders.user-email";
+
+    private final UserClient userClient;
+    private final int prefetchLimit;
+    private final Semaphore lookups;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("user-email-", 0).factory()
+    );
+
+    /**
+     * Emails by user id. Users without an email, or unknown to user-service, are cached as empty for the shorter
+     * {@code negative-ttl}. Lookups in flight are shared, so a checkout asking for a bidder that is still being
+     * prefetched waits for that call instead of making another; failed lookups are not cached.
+     */
+    private final AsyncCache<UUID, Optional<String>> emails;
+
+    public UserEmailServiceImpl(
+            UserClient userClient,
+            MeterRegistry meterRegistry,
+            @Value("${orders.user-email.cache-size:10000}") long cacheSize,
+            @Value("${orders.user-email.ttl:30m}") Duration ttl,
+            @Value("${orders.user-email.negative-ttl:1m}") Duration negativeTtl,
+            @Value("${orders.user-email.max-concurrent-lookups:8}") int maxConcurrentLookups,
+            @Value("${orders.user-email.prefetch-limit:5}") int prefetchLimit
+    ) {
+        this.userClient = userClient;
+        this.prefetchLimit = prefetchLimit;
+        this.lookups = new Semaphore(maxConcurrentLookups);
+        this.emails = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(Expiry.creating((UUID userId, Optional<String> email) ->
+                        email.isPresent() ? ttl : negativeTtl))
+                .executor(executor)
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, emails, CACHE_NAME);
+    }
+
+    @Override
+    public Optional<String> getEmail(UUID userId) {
+        CompletableFuture<Optional<String>> email = emails.get(userId, this::fetch);
+        try {
+            return email.join();
+        } catch (CompletionException e) {
+            // Caffeine drops failed lookups asynchronously; drop it now so an immediate retry calls user-service again
+            emails.asMap().remove(userId, email);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts lookups for the first {@code prefetch-limit} users, in order, without waiting for them. Bidders are
+     * tried one after another, so only the first few are ever likely to be needed.
+     */
+    @Override
+    public CompletableFuture<Void> prefetch(Collection<UUID> userIds) {
+        CompletableFuture<?>[] prefetches = userIds.stream()
+                .distinct()
+                .limit(prefetchLimit)
+                .map(userId -> emails.get(userId, this::fetch))
+                .toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(prefetches);
+    }
+
+    private Optional<String> fetch(UUID userId) {
+        lookups.acquireUninterruptibly();
+        try {
+            UserProfileResponse user = userClient.getUser(userId, userId).getBody(); // TODO: attach header
+            return Optional.ofNullable(user).map(UserProfileResponse::email);
+        } catch (FeignException.NotFound e) {
+            log.warn("User {} not found", userId);
+            return Optional.empty();
+        } finally {
+            lookups.release();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+}
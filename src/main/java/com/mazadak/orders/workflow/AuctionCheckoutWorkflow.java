@@ -1,8 +1,10 @@
 package com.mazadak.orders.workflow;
 
 import com.mazadak.orders.dto.internal.AuctionCheckoutRequest;
+import com.mazadak.orders.dto.internal.CheckoutState;
 import com.mazadak.orders.dto.internal.WorkflowResult;
 import com.mazadak.orders.model.entity.Address;
+import io.temporal.workflow.QueryMethod;
 import io.temporal.workflow.SignalMethod;
 import io.temporal.workflow.WorkflowInterface;
 import io.temporal.workflow.WorkflowMethod;
@@ -25,4 +27,7 @@ public interface AuctionCheckoutWorkflow {
 
     @SignalMethod
     void intentCreated(UUID orderId, String paymentIntentId, String clientSecret);
+
+    @QueryMethod(name = CheckoutState.QUERY_NAME)
+    CheckoutState getCheckoutState();
 }
@@ -1,9 +1,12 @@
 package com.mazadak.orders.workflow;
 
+import com.mazadak.orders.dto.internal.CheckoutState;
 import com.mazadak.orders.dto.internal.WorkflowResult;
 import com.mazadak.orders.dto.request.CheckoutRequest;
 import com.mazadak.orders.dto.response.OrderResponse;
+import io.temporal.workflow.QueryMethod;
 import io.temporal.workflow.SignalMethod;
+import io.temporal.workflow.UpdateMethod;
 import io.temporal.workflow.WorkflowInterface;
 import io.temporal.workflow.WorkflowMethod;
 import java.util.UUID;
@@ -21,4 +24,14 @@ public interface FixedPriceCheckoutWorkflow {
 
     @SignalMethod
     void intentCreated(UUID orderId, String paymentIntentId, String clientSecret);
+
+    /**
+     * Completes once the order is created and its inventory reserved, returning the order. Sent together with the
+     * workflow start so checkout can answer with the order synchronously.
+     */
+    @UpdateMethod
+    OrderResponse awaitOrderReserved();
+
+    @QueryMethod(name = CheckoutState.QUERY_NAME)
+    CheckoutState getCheckoutState();
 }
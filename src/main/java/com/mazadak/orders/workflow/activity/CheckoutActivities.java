@@ -1,5 +1,6 @@
 package com.mazadak.orders.workflow.activity;
 
+import com.mazadak.orders.dto.internal.OrderPatch;
 import com.mazadak.orders.model.entity.Address;
 import com.mazadak.orders.model.enumeration.PaymentStatus;
 import io.temporal.activity.ActivityInterface;
@@ -22,4 +23,5 @@ public interface CheckoutActivities {
     void sendCheckoutSuccessfulNotification(UUID orderId, UUID buyerId, BigDecimal amount);
     void setOrderClientSecret(UUID currentOrderId, String clientSecret);
     void assertAmountNotTooLarge(UUID orderId);
+    void applyOrderPatch(UUID orderId, OrderPatch patch);
 }
@@ -0,0 +1,28 @@
+package com.mazadak.orders.workflow.activity.impl;
+
+import io.temporal.activity.Activity;
+import io.temporal.activity.ActivityInfo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Idempotency keys for downstream calls made from activities. A key is a name-based UUID of the workflow run, the
+ * scheduled activity and the step: every retry attempt of one scheduled activity sends the same key, while each
+ * separately scheduled call, e.g. a compensation after a successful reservation, gets its own.
+ */
+final class ActivityIdempotencyKeys {
+
+    private ActivityIdempotencyKeys() {
+    }
+
+    static UUID forStep(String step) {
+        ActivityInfo info = Activity.getExecutionContext().getInfo();
+        return forStep(info.getWorkflowId(), info.getRunId(), info.getActivityId(), step);
+    }
+
+    static UUID forStep(String workflowId, String runId, String activityId, String step) {
+        String name = String.join(":", workflowId, runId, activityId, step);
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+    }
+}
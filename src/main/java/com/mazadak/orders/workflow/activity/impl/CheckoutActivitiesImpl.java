@@ -1,13 +1,15 @@
 package com.mazadak.orders.workflow.activity.impl;
 
+import com.mazadak.common.exception.shared.ResourceNotFoundException;
 import com.mazadak.orders.client.PaymentClient;
-import com.mazadak.orders.client.UserClient;
 import com.mazadak.orders.dto.client.RefundRequest;
 import com.mazadak.orders.dto.event.CheckoutSuccessfulEvent;
+import com.mazadak.orders.dto.internal.OrderPatch;
 import com.mazadak.orders.exception.PaymentCaptureFailedException;
 import com.mazadak.orders.model.entity.Address;
 import com.mazadak.orders.model.enumeration.PaymentStatus;
 import com.mazadak.orders.service.OrderService;
+import com.mazadak.orders.service.UserEmailService;
 import com.mazadak.orders.workflow.activity.CheckoutActivities;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +17,6 @@ import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.util.Objects;
 import java.util.UUID;
 
 @Slf4j
@@ -23,7 +24,7 @@ import java.util.UUID;
 @Component
 public class CheckoutActivitiesImpl implements CheckoutActivities {
     private final OrderService orderService;
-    private final UserClient userClient;
+    private final UserEmailService userEmailService;
     private final PaymentClient paymentClient;
     private final StreamBridge streamBridge;
 
@@ -88,8 +89,8 @@ public class CheckoutActivitiesImpl implements CheckoutActivities {
 
     @Override
     public String fetchUserEmail(UUID userId) {
-        return Objects.requireNonNull(userClient.getUser(userId, userId).getBody()) // TODO: attach header
-                .email();
+        return userEmailService.getEmail(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId.toString()));
     }
 
     @Override
@@ -109,4 +110,12 @@ public class CheckoutActivitiesImpl implements CheckoutActivities {
         log.info("Checking whether amount is too large for order {}", orderId);
         orderService.assertAmountNotTooLarge(orderId);
     }
+
+    @Override
+    public void applyOrderPatch(UUID orderId, OrderPatch patch) {
+        log.info("Applying patch {} to order {}", patch, orderId);
+        if (!orderService.applyPatch(orderId, patch)) {
+            log.warn("Patch {} was not applied to order {}: the order has moved past it", patch, orderId);
+        }
+    }
 }
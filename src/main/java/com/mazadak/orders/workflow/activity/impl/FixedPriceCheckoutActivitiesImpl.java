@@ -71,7 +71,7 @@ public class FixedPriceCheckoutActivitiesImpl implements FixedPriceCheckoutActiv
                         .toList(),
                 orderId
         );
-        UUID idempotencyKey = UUID.randomUUID();
+        UUID idempotencyKey = ActivityIdempotencyKeys.forStep("reserve-inventory");
         return inventoryClient.reserveInventory(idempotencyKey, request).getBody();
     }
 
@@ -79,7 +79,7 @@ public class FixedPriceCheckoutActivitiesImpl implements FixedPriceCheckoutActiv
     public void confirmInventoryReservations(UUID orderId, List<UUID> reservationIds) {
         log.info("Confirming inventory reservations for order {} and reservationIds {}", orderId, reservationIds);
         ConfirmReservationRequest request = new ConfirmReservationRequest(reservationIds, orderId);
-        UUID idempotencyKey = UUID.randomUUID();
+        UUID idempotencyKey = ActivityIdempotencyKeys.forStep("confirm-inventory");
         inventoryClient.confirmInventoryReservations(idempotencyKey, request);
         log.info("Confirmed inventory reservations for order {} and reservationIds {}", orderId, reservationIds);
     }
@@ -87,7 +87,7 @@ public class FixedPriceCheckoutActivitiesImpl implements FixedPriceCheckoutActiv
     @Override
     public void releaseInventoryReservations(UUID orderId, List<UUID> reservationIds) {
         log.info("Releasing inventory reservations for order {} and reservationIds {}", orderId, reservationIds);
-        UUID idempotencyKey = UUID.randomUUID(); // TODO move to workflow
+        UUID idempotencyKey = ActivityIdempotencyKeys.forStep("release-inventory");
         inventoryClient.releaseReservation(idempotencyKey, reservationIds);
         log.info("Released inventory reservations for order {} and reservationIds {}", orderId, reservationIds);
     }
@@ -1,15 +1,19 @@
 package com.mazadak.orders.workflow.impl;
 
+import com.mazadak.orders.dto.internal.CheckoutState;
+import com.mazadak.orders.dto.internal.OrderPatch;
 import com.mazadak.orders.dto.internal.WorkflowResult;
 import com.mazadak.orders.exception.CheckoutCancelledException;
 import com.mazadak.orders.exception.CheckoutTimeoutException;
 import com.mazadak.orders.model.entity.Address;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
 import com.mazadak.orders.model.enumeration.PaymentStatus;
 import com.mazadak.orders.dto.internal.AuctionCheckoutRequest;
 import com.mazadak.orders.workflow.AuctionCheckoutWorkflow;
 import com.mazadak.orders.workflow.activity.AuctionCheckoutActivities;
 import com.mazadak.orders.workflow.activity.CheckoutActivities;
 import io.temporal.activity.ActivityOptions;
+import io.temporal.activity.LocalActivityOptions;
 import io.temporal.common.RetryOptions;
 import io.temporal.workflow.Saga;
 import io.temporal.workflow.Workflow;
@@ -20,6 +24,10 @@ import java.util.UUID;
 
 public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
     private static final Logger log = Workflow.getLogger(AuctionCheckoutWorkflowImpl.class);
+    // version marker for replacing the separate intent/secret activities with one applyOrderPatch call
+    private static final String APPLY_ORDER_PATCH_CHANGE = "apply-order-patch";
+    // version marker for running the DB-only order activities as local activities
+    private static final String LOCAL_ORDER_ACTIVITIES_CHANGE = "local-order-activities";
     private final AuctionCheckoutActivities auctionActivities = Workflow.newActivityStub(
             AuctionCheckoutActivities.class,
             ActivityOptions.newBuilder()
@@ -44,6 +52,22 @@ public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
                     ).build()
     );
 
+    // DB-only order activities run in the worker process, skipping the task queue round trip
+    private final CheckoutActivities localCheckoutActivities = Workflow.newLocalActivityStub(
+            CheckoutActivities.class,
+            LocalActivityOptions.newBuilder()
+                    .setStartToCloseTimeout(Duration.ofSeconds(10))
+                    .setRetryOptions(RetryOptions.newBuilder()
+                            .setMaximumAttempts(3)
+                            .setInitialInterval(Duration.ofSeconds(2))
+                            .setBackoffCoefficient(2.0)
+                            .build()
+                    ).build()
+    );
+
+    private final boolean useLocalOrderActivities;
+    private CheckoutActivities orderActivities;
+
     private UUID currentOrderId;
     private String currentPaymentIntentId;
     private Address shippingAddress;
@@ -55,9 +79,19 @@ public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
     private boolean checkoutCancelled = false;
 
     private String cancellationReason;
+    private CheckoutStep step;
+
+    public AuctionCheckoutWorkflowImpl() {
+        this(false);
+    }
+
+    public AuctionCheckoutWorkflowImpl(boolean useLocalOrderActivities) {
+        this.useLocalOrderActivities = useLocalOrderActivities;
+    }
 
     public WorkflowResult processAuctionCheckout(AuctionCheckoutRequest request) {
         log.info("Starting auction workflow for auction {}", request.auction().id());
+        this.orderActivities = selectOrderActivities();
 
         for (var bidder : request.bidders()) {
             if (processBidderCheckout(request, bidder)) {
@@ -88,11 +122,12 @@ public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
                     request.auction(),
                     bidder
             );
-            saga.addCompensation(() -> checkoutActivities.cancelOrder(currentOrderId));
+            step = CheckoutStep.ORDER_CREATED;
+            saga.addCompensation(() -> orderActivities.cancelOrder(currentOrderId));
             log.info("Created order: {} for bidder {}", currentOrderId, bidder.id());
 
             // STEP 2: assert amount does not exceed limit
-            checkoutActivities.assertAmountNotTooLarge(currentOrderId);
+            orderActivities.assertAmountNotTooLarge(currentOrderId);
 
             // STEP 3: fetch user email
             var email = checkoutActivities.fetchUserEmail(bidder.id());
@@ -116,7 +151,8 @@ public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
             }
 
             // STEP 6: set order address
-            checkoutActivities.setOrderAddress(currentOrderId, shippingAddress);
+            orderActivities.setOrderAddress(currentOrderId, shippingAddress);
+            step = CheckoutStep.ADDRESS_RECEIVED;
             log.info("User {} provided address for order {}", bidder.id(), currentOrderId);
 
             // TODO: may add a payment notification step
@@ -136,8 +172,8 @@ public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
             }
 
             // STEP 8: associate payment intent with order
-            checkoutActivities.setOrderPaymentIntentId(currentOrderId, currentPaymentIntentId);
-            checkoutActivities.setOrderClientSecret(currentOrderId, clientSecret);
+            attachPaymentIntentToOrder();
+            step = CheckoutStep.INTENT_CREATED;
             log.info("Payment intent created and associated for order {}", currentOrderId);
 
             // STEP 9: wait for payment authorization
@@ -156,13 +192,15 @@ public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
 
             log.info("User {} authorized payment for order {}, auction {}", bidder.id(), currentOrderId, request.auction().id());
 
-            checkoutActivities.setOrderPaymentStatus(currentOrderId, PaymentStatus.AUTHORIZED);
+            orderActivities.setOrderPaymentStatus(currentOrderId, PaymentStatus.AUTHORIZED);
+            step = CheckoutStep.PAYMENT_AUTHORIZED;
 
             // STEP 10: capture payment
             checkoutActivities.capturePayment(currentOrderId);
             saga.addCompensation(() -> checkoutActivities.refundPayment(currentOrderId));
 
-            checkoutActivities.setOrderPaymentStatus(currentOrderId, PaymentStatus.CAPTURED);
+            orderActivities.setOrderPaymentStatus(currentOrderId, PaymentStatus.CAPTURED);
+            step = CheckoutStep.PAYMENT_CAPTURED;
 
             // STEP 11: emit auction completed event
             auctionActivities.emitAuctionCompletedEvent(request.auction().id(), currentOrderId);
@@ -171,7 +209,8 @@ public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
             checkoutActivities.sendCheckoutSuccessfulNotification(currentOrderId, bidder.id(), bidder.amount());
 
             // STEP 13: mark order as completed
-            checkoutActivities.markOrderAsCompleted(currentOrderId);
+            orderActivities.markOrderAsCompleted(currentOrderId);
+            step = CheckoutStep.COMPLETED;
 
             log.info("Successful checkout completed for bidder {}", bidder.id());
             return true;
@@ -190,7 +229,8 @@ public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
 
     private void handleCheckoutFailure(String reason) {
         log.warn("Checkout failed for order: {}, reason: {}", currentOrderId, reason);
-        checkoutActivities.markOrderAsFailed(currentOrderId);
+        step = CheckoutStep.FAILED;
+        orderActivities.markOrderAsFailed(currentOrderId);
 
         if (intentCreated) {
             log.info("Cancelling unauthorized payment intent for failed order: {}", currentOrderId);
@@ -315,5 +355,42 @@ public class AuctionCheckoutWorkflowImpl implements AuctionCheckoutWorkflow {
         this.paymentAuthorized = false;
         this.checkoutCancelled = false;
         this.cancellationReason = null;
+        this.step = null;
+    }
+
+    @Override
+    public CheckoutState getCheckoutState() {
+        return new CheckoutState(
+                currentOrderId,
+                step,
+                addressProvided,
+                intentCreated,
+                paymentAuthorized,
+                checkoutCancelled,
+                cancellationReason
+        );
+    }
+
+    private void attachPaymentIntentToOrder() {
+        int version = Workflow.getVersion(APPLY_ORDER_PATCH_CHANGE, Workflow.DEFAULT_VERSION, 1);
+
+        if (version == Workflow.DEFAULT_VERSION) {
+            orderActivities.setOrderPaymentIntentId(currentOrderId, currentPaymentIntentId);
+            orderActivities.setOrderClientSecret(currentOrderId, clientSecret);
+        } else {
+            orderActivities.applyOrderPatch(currentOrderId, OrderPatch.paymentIntent(currentPaymentIntentId, clientSecret));
+        }
+    }
+
+    private CheckoutActivities selectOrderActivities() {
+        int version = Workflow.getVersion(LOCAL_ORDER_ACTIVITIES_CHANGE, Workflow.DEFAULT_VERSION, 1);
+
+        if (version == Workflow.DEFAULT_VERSION) {
+            return checkoutActivities;
+        }
+
+        // the worker setting may change between deployments, so record the choice in history
+        boolean useLocal = Workflow.sideEffect(Boolean.class, () -> useLocalOrderActivities);
+        return useLocal ? localCheckoutActivities : checkoutActivities;
     }
 }
@@ -1,8 +1,11 @@
 package com.mazadak.orders.workflow.impl;
 
+import com.mazadak.orders.dto.internal.CheckoutState;
+import com.mazadak.orders.dto.internal.OrderPatch;
 import com.mazadak.orders.dto.internal.WorkflowResult;
 import com.mazadak.orders.exception.CheckoutCancelledException;
 import com.mazadak.orders.exception.CheckoutTimeoutException;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
 import com.mazadak.orders.model.enumeration.PaymentStatus;
 import com.mazadak.orders.workflow.activity.CheckoutActivities;
 import com.mazadak.orders.workflow.activity.FixedPriceCheckoutActivities;
@@ -11,7 +14,9 @@ import com.mazadak.orders.dto.request.CheckoutRequest;
 import com.mazadak.orders.dto.response.OrderResponse;
 import com.mazadak.orders.workflow.FixedPriceCheckoutWorkflow;
 import io.temporal.activity.ActivityOptions;
+import io.temporal.activity.LocalActivityOptions;
 import io.temporal.common.RetryOptions;
+import io.temporal.failure.ApplicationFailure;
 import io.temporal.workflow.Saga;
 import io.temporal.workflow.Workflow;
 import lombok.extern.slf4j.Slf4j;
@@ -24,14 +29,22 @@ import java.util.UUID;
 
 public class FixedPriceCheckoutWorkflowImpl implements FixedPriceCheckoutWorkflow {
     private static final Logger log = Workflow.getLogger(AuctionCheckoutWorkflowImpl.class);
+    // version marker for replacing the separate intent/secret activities with one applyOrderPatch call
+    private static final String APPLY_ORDER_PATCH_CHANGE = "apply-order-patch";
+    // version marker for running the DB-only order activities as local activities
+    private static final String LOCAL_ORDER_ACTIVITIES_CHANGE = "local-order-activities";
+    private final boolean useLocalOrderActivities;
     private UUID currentOrderId;
     private String currentPaymentIntentId;
     private String clientSecret;
     private String cancellationReason;
+    private CheckoutStep step;
 
     private boolean paymentAuthorized = false;
     private boolean checkoutCancelled = false;
     private boolean intentCreated = false;
+    private boolean inventoryReserved = false;
+    private OrderResponse currentOrder;
 
     private final FixedPriceCheckoutActivities fixedPriceCheckoutActivities = Workflow.newActivityStub(
             FixedPriceCheckoutActivities.class,
@@ -57,8 +70,33 @@ public class FixedPriceCheckoutWorkflowImpl implements FixedPriceCheckoutWorkflo
                     ).build()
     );
 
+    // DB-only order activities run in the worker process, skipping the task queue round trip
+    private final CheckoutActivities localCheckoutActivities = Workflow.newLocalActivityStub(
+            CheckoutActivities.class,
+            LocalActivityOptions.newBuilder()
+                    .setStartToCloseTimeout(Duration.ofSeconds(10))
+                    .setRetryOptions(RetryOptions.newBuilder()
+                            .setMaximumAttempts(3)
+                            .setInitialInterval(Duration.ofSeconds(2))
+                            .setBackoffCoefficient(2.0)
+                            .build()
+                    ).build()
+    );
+
+    private CheckoutActivities orderActivities;
+
+    public FixedPriceCheckoutWorkflowImpl() {
+        this(false);
+    }
+
+    public FixedPriceCheckoutWorkflowImpl(boolean useLocalOrderActivities) {
+        this.useLocalOrderActivities = useLocalOrderActivities;
+    }
+
     @Override
     public WorkflowResult processCheckout(CheckoutRequest request, UUID idempotencyKey) {
+        this.orderActivities = selectOrderActivities();
+
         Saga saga = new Saga(new Saga.Options.Builder()
                 .setParallelCompensation(false)
                 .setContinueWithError(false)
@@ -77,14 +115,17 @@ public class FixedPriceCheckoutWorkflowImpl implements FixedPriceCheckoutWorkflo
             // 3. Create Order
             order = fixedPriceCheckoutActivities.createOrder(request, cart, idempotencyKey);
             this.currentOrderId = order.id();
+            this.currentOrder = order;
+            this.step = CheckoutStep.ORDER_CREATED;
             // If we fail after this, we need to mark the order as failed
-            saga.addCompensation(() -> checkoutActivities.markOrderAsFailed(currentOrderId));
+            saga.addCompensation(() -> orderActivities.markOrderAsFailed(currentOrderId));
 
             // 4. Assert amount does not exceed limit
-            checkoutActivities.assertAmountNotTooLarge(order.id());
+            orderActivities.assertAmountNotTooLarge(order.id());
 
             // 5. Reserve inventory
             List<UUID> reservationIds = fixedPriceCheckoutActivities.reserveInventory(order.id(), cart.cartItems());
+            this.inventoryReserved = true;
             // If we fail after this, we need to release the inventory reservations
             saga.addCompensation(
                     () -> fixedPriceCheckoutActivities.releaseInventoryReservations(currentOrderId, reservationIds)
@@ -105,8 +146,8 @@ public class FixedPriceCheckoutWorkflowImpl implements FixedPriceCheckoutWorkflo
             }
 
             // 7. Associate payment intent and client secret with order
-            checkoutActivities.setOrderPaymentIntentId(this.currentOrderId, currentPaymentIntentId);
-            checkoutActivities.setOrderClientSecret(currentOrderId, clientSecret);
+            attachPaymentIntentToOrder();
+            this.step = CheckoutStep.INTENT_CREATED;
             log.info("Payment intent created and associated for order {}", currentOrderId);
 
             // 8. Wait for payment authorization
@@ -125,7 +166,8 @@ public class FixedPriceCheckoutWorkflowImpl implements FixedPriceCheckoutWorkflo
 
             log.info("Authorized payment for order {}", this.currentOrderId);
 
-            checkoutActivities.setOrderPaymentStatus(this.currentOrderId, PaymentStatus.AUTHORIZED);
+            orderActivities.setOrderPaymentStatus(this.currentOrderId, PaymentStatus.AUTHORIZED);
+            this.step = CheckoutStep.PAYMENT_AUTHORIZED;
 
             // 9. If payment authorized, confirm reservation
             fixedPriceCheckoutActivities.confirmInventoryReservations(order.id(), reservationIds);
@@ -134,7 +176,8 @@ public class FixedPriceCheckoutWorkflowImpl implements FixedPriceCheckoutWorkflo
             checkoutActivities.capturePayment(this.currentOrderId);
             saga.addCompensation(() -> checkoutActivities.refundPayment(this.currentOrderId));
 
-            checkoutActivities.setOrderPaymentStatus(this.currentOrderId, PaymentStatus.CAPTURED);
+            orderActivities.setOrderPaymentStatus(this.currentOrderId, PaymentStatus.CAPTURED);
+            this.step = CheckoutStep.PAYMENT_CAPTURED;
 
             // 11. Clear and activate cart
             fixedPriceCheckoutActivities.clearCart(request.userId());
@@ -145,12 +188,14 @@ public class FixedPriceCheckoutWorkflowImpl implements FixedPriceCheckoutWorkflo
             checkoutActivities.sendCheckoutSuccessfulNotification(currentOrderId, order.buyerId(), order.totalAmount());
 
             // 13. Update order status to be completed
-            checkoutActivities.markOrderAsCompleted(currentOrderId);
+            orderActivities.markOrderAsCompleted(currentOrderId);
+            this.step = CheckoutStep.COMPLETED;
 
             return new WorkflowResult(true, "Checkout completed successfully", null);
         } catch (Exception e) {
 
             log.error("Error during checkout process", e);
+            this.step = CheckoutStep.FAILED;
 
             // Compensate for completed operations in reverse order
             Workflow.newDetachedCancellationScope(saga::compensate).run();
@@ -158,7 +203,7 @@ public class FixedPriceCheckoutWorkflowImpl implements FixedPriceCheckoutWorkflo
             // If we have an order ID but couldn't mark it as failed in the compensation
             if (order != null && order.id() != null) {
                 try {
-                    checkoutActivities.markOrderAsFailed(order.id());
+                    orderActivities.markOrderAsFailed(order.id());
                     checkoutActivities.cancelPaymentIntent(order.id());
                 } catch (Exception ex) {
                     log.error("Failed to mark order as failed", ex);
@@ -239,4 +284,52 @@ public class FixedPriceCheckoutWorkflowImpl implements FixedPriceCheckoutWorkflo
 
         log.info("Intent creation accepted for order: {}", orderId);
     }
+
+    @Override
+    public OrderResponse awaitOrderReserved() {
+        Workflow.await(() -> inventoryReserved || step == CheckoutStep.FAILED);
+
+        if (!inventoryReserved) {
+            throw ApplicationFailure.newNonRetryableFailure("Checkout failed before the order was reserved", "CheckoutFailed");
+        }
+
+        return currentOrder;
+    }
+
+    @Override
+    public CheckoutState getCheckoutState() {
+        // the address is part of the checkout request, so it is always provided
+        return new CheckoutState(
+                currentOrderId,
+                step,
+                true,
+                intentCreated,
+                paymentAuthorized,
+                checkoutCancelled,
+                cancellationReason
+        );
+    }
+
+    private void attachPaymentIntentToOrder() {
+        int version = Workflow.getVersion(APPLY_ORDER_PATCH_CHANGE, Workflow.DEFAULT_VERSION, 1);
+
+        if (version == Workflow.DEFAULT_VERSION) {
+            orderActivities.setOrderPaymentIntentId(currentOrderId, currentPaymentIntentId);
+            orderActivities.setOrderClientSecret(currentOrderId, clientSecret);
+        } else {
+            orderActivities.applyOrderPatch(currentOrderId, OrderPatch.paymentIntent(currentPaymentIntentId, clientSecret));
+        }
+    }
+
+    private CheckoutActivities selectOrderActivities() {
+        int version = Workflow.getVersion(LOCAL_ORDER_ACTIVITIES_CHANGE, Workflow.DEFAULT_VERSION, 1);
+
+        if (version == Workflow.DEFAULT_VERSION) {
+            return checkoutActivities;
+        }
+
+        // the worker setting may change between deployments, so record the choice in history
+        boolean useLocal = Workflow.sideEffect(Boolean.class, () -> useLocalOrderActivities);
+        return useLocal ? localCheckoutActivities : checkoutActivities;
+    }
 }
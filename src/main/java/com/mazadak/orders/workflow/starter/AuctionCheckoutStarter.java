@@ -10,11 +10,14 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
 public class AuctionCheckoutStarter {
     private final WorkflowClient client;
+    private final WorkflowStubCache stubCache;
+    private final WorkflowSignalDispatcher signalDispatcher;
 
     public void startAuctionCheckout(AuctionCheckoutRequest request) {
         String workflowId = "auction-checkout-" + request.auction().id();
@@ -30,43 +33,35 @@ public class AuctionCheckoutStarter {
         WorkflowClient.start(workflow::processAuctionCheckout, request);
     }
 
-    public void sendPaymentAuthorized(UUID orderId, UUID auctionId, String paymentIntentId) {
-        String workflowId = "auction-checkout-" + auctionId;
-        AuctionCheckoutWorkflow workflow = client.newWorkflowStub(
-                AuctionCheckoutWorkflow.class,
-                workflowId
-        );
+    public CompletableFuture<Void> sendPaymentAuthorized(String workflowId, UUID orderId, String paymentIntentId) {
+        AuctionCheckoutWorkflow workflow = stubCache.get(AuctionCheckoutWorkflow.class, workflowId);
 
-        workflow.paymentAuthorized(orderId, paymentIntentId);
+        return signalDispatcher.dispatch(
+                "paymentAuthorized",
+                workflowId,
+                () -> workflow.paymentAuthorized(orderId, paymentIntentId)
+        );
     }
 
-    public void sendAddressProvided(UUID orderId, UUID auctionId, Address address) {
-        String workflowId = "auction-checkout-" + auctionId;
-        AuctionCheckoutWorkflow workflow = client.newWorkflowStub(
-                AuctionCheckoutWorkflow.class,
-                workflowId
-        );
+    public void sendAddressProvided(String workflowId, UUID orderId, Address address) {
+        AuctionCheckoutWorkflow workflow = stubCache.get(AuctionCheckoutWorkflow.class, workflowId);
 
         workflow.submitShippingAddress(orderId, address);
     }
 
-    public void sendCheckoutCancelled(UUID orderId, UUID auctionId, String reason) {
-        String workflowId = "auction-checkout-" + auctionId;
-        AuctionCheckoutWorkflow workflow = client.newWorkflowStub(
-                AuctionCheckoutWorkflow.class,
-                workflowId
-        );
+    public void sendCheckoutCancelled(String workflowId, UUID orderId, String reason) {
+        AuctionCheckoutWorkflow workflow = stubCache.get(AuctionCheckoutWorkflow.class, workflowId);
 
         workflow.cancelCheckout(orderId, reason);
     }
 
-    public void sendIntentCreated(UUID orderId, UUID auctionId, String paymentIntentId, String clientSecret) {
-        String workflowId = "auction-checkout-" + auctionId;
-        AuctionCheckoutWorkflow workflow = client.newWorkflowStub(
-                AuctionCheckoutWorkflow.class,
-                workflowId
-        );
+    public CompletableFuture<Void> sendIntentCreated(String workflowId, UUID orderId, String paymentIntentId, String clientSecret) {
+        AuctionCheckoutWorkflow workflow = stubCache.get(AuctionCheckoutWorkflow.class, workflowId);
 
-        workflow.intentCreated(orderId, paymentIntentId, clientSecret);
+        return signalDispatcher.dispatch(
+                "intentCreated",
+                workflowId,
+                () -> workflow.intentCreated(orderId, paymentIntentId, clientSecret)
+        );
     }
-}
\ No newline at end of file
+}
@@ -1,24 +1,49 @@
 package com.mazadak.orders.workflow.starter;
 
 import com.mazadak.orders.dto.request.CheckoutRequest;
+import com.mazadak.orders.dto.response.OrderResponse;
+import com.mazadak.orders.exception.CheckoutNotReservedException;
+import com.mazadak.orders.exception.CheckoutReservationTimeoutException;
+import com.mazadak.orders.exception.IdempotencyKeyConflictException;
 import com.mazadak.orders.service.OrderService;
 import com.mazadak.orders.workflow.AuctionCheckoutWorkflow;
 import com.mazadak.orders.workflow.FixedPriceCheckoutWorkflow;
 import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.api.enums.v1.WorkflowIdConflictPolicy;
+import io.temporal.client.UpdateOptions;
+import io.temporal.client.WithStartWorkflowOperation;
 import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowExecutionAlreadyStarted;
 import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowUpdateException;
+import io.temporal.client.WorkflowUpdateHandle;
+import io.temporal.client.WorkflowUpdateStage;
+import io.temporal.client.WorkflowUpdateTimeoutOrCancelledException;
 import io.temporal.workflow.Workflow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FixedPriceCheckoutStarter {
+    // records which buyer a checkout belongs to, so a reused idempotency key can be told apart from a retry
+    static final String BUYER_ID_MEMO = "buyerId";
+
     private final WorkflowClient client;
+    private final WorkflowStubCache stubCache;
+    private final WorkflowSignalDispatcher signalDispatcher;
+
+    @Value("${orders.checkout.sync-timeout:10s}")
+    private Duration syncTimeout;
 
     public WorkflowExecution startFixedPriceCheckout(UUID idempotencyKey, CheckoutRequest request) {
         String workflowId = "fixed-price-checkout-" + idempotencyKey;
@@ -27,41 +52,92 @@ public class FixedPriceCheckoutStarter {
                 WorkflowOptions.newBuilder()
                         .setTaskQueue("FIXED_PRICE_CHECKOUT_TASK_QUEUE")
                         .setWorkflowId(workflowId)
+                        .setMemo(Map.of(BUYER_ID_MEMO, request.userId().toString()))
                         .build()
         );
 
-        var exec = WorkflowClient.start(workflow::processCheckout, request, idempotencyKey);
-        log.info("Workflow started: workflowId={}, runId={}", exec.getWorkflowId(), exec.getRunId());
-        return exec;
+        try {
+            var exec = WorkflowClient.start(workflow::processCheckout, request, idempotencyKey);
+            log.info("Workflow started: workflowId={}, runId={}", exec.getWorkflowId(), exec.getRunId());
+            return exec;
+        } catch (WorkflowExecutionAlreadyStarted e) {
+            // A retry that missed the local idempotency store, e.g. one served by another replica or after its TTL.
+            String owner = client.newUntypedWorkflowStub(workflowId).describe()
+                    .getMemo(BUYER_ID_MEMO, String.class, String.class);
+            if (owner != null && !owner.equals(request.userId().toString())) {
+                throw new IdempotencyKeyConflictException(idempotencyKey);
+            }
+            log.info("Workflow already started: workflowId={}, runId={}", workflowId, e.getExecution().getRunId());
+            return e.getExecution();
+        }
     }
 
-    public void sendPaymentAuthorized(UUID idempotencyKey, UUID orderId, String paymentIntentId) {
+    /**
+     * Starts the checkout together with an {@code awaitOrderReserved} update (update-with-start) and blocks until
+     * the order is created and its inventory reserved, or the configured deadline passes. A retried request with the
+     * same idempotency key attaches to the running checkout and its update instead of starting another one; a key
+     * reused by another buyer is rejected once the attached checkout's order shows a different buyer.
+     */
+    public OrderResponse startFixedPriceCheckoutAndAwaitOrder(UUID idempotencyKey, CheckoutRequest request) {
         String workflowId = "fixed-price-checkout-" + idempotencyKey;
         FixedPriceCheckoutWorkflow workflow = client.newWorkflowStub(
                 FixedPriceCheckoutWorkflow.class,
-                workflowId
+                WorkflowOptions.newBuilder()
+                        .setTaskQueue("FIXED_PRICE_CHECKOUT_TASK_QUEUE")
+                        .setWorkflowId(workflowId)
+                        .setWorkflowIdConflictPolicy(WorkflowIdConflictPolicy.WORKFLOW_ID_CONFLICT_POLICY_USE_EXISTING)
+                        .setMemo(Map.of(BUYER_ID_MEMO, request.userId().toString()))
+                        .build()
         );
 
-        workflow.paymentAuthorized(orderId, paymentIntentId);
+        long startedAt = System.nanoTime();
+        try {
+            WorkflowUpdateHandle<OrderResponse> handle = WorkflowClient.startUpdateWithStart(
+                    workflow::awaitOrderReserved,
+                    UpdateOptions.newBuilder(OrderResponse.class)
+                            .setUpdateId("await-order-reserved-" + idempotencyKey)
+                            .setWaitForStage(WorkflowUpdateStage.ACCEPTED)
+                            .build(),
+                    new WithStartWorkflowOperation<>(workflow::processCheckout, request, idempotencyKey)
+            );
+            log.info("Workflow started with update: workflowId={}, runId={}", workflowId, handle.getExecution().getRunId());
+
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            OrderResponse order = handle.getResult(Math.max(0, syncTimeout.toMillis() - elapsedMillis), TimeUnit.MILLISECONDS);
+            if (!request.userId().equals(order.buyerId())) {
+                throw new IdempotencyKeyConflictException(idempotencyKey);
+            }
+            return order;
+        } catch (WorkflowUpdateTimeoutOrCancelledException e) {
+            throw new CheckoutReservationTimeoutException(workflowId, syncTimeout);
+        } catch (WorkflowUpdateException e) {
+            throw new CheckoutNotReservedException(workflowId, e);
+        }
     }
 
-    public void sendCheckoutCancelled(UUID idempotencyKey, UUID orderId, String reason) {
-        String workflowId = "fixed-price-checkout-" + idempotencyKey;
-        FixedPriceCheckoutWorkflow workflow = client.newWorkflowStub(
-                FixedPriceCheckoutWorkflow.class,
-                workflowId
+    public CompletableFuture<Void> sendPaymentAuthorized(String workflowId, UUID orderId, String paymentIntentId) {
+        FixedPriceCheckoutWorkflow workflow = stubCache.get(FixedPriceCheckoutWorkflow.class, workflowId);
+
+        return signalDispatcher.dispatch(
+                "paymentAuthorized",
+                workflowId,
+                () -> workflow.paymentAuthorized(orderId, paymentIntentId)
         );
+    }
+
+    public void sendCheckoutCancelled(String workflowId, UUID orderId, String reason) {
+        FixedPriceCheckoutWorkflow workflow = stubCache.get(FixedPriceCheckoutWorkflow.class, workflowId);
 
         workflow.cancelCheckout(orderId, reason);
     }
 
-    public void sendIntentCreated(UUID idempotencyKey, UUID orderId, String paymentIntentId, String clientSecret) {
-        String workflowId = "fixed-price-checkout-" + idempotencyKey;
-        FixedPriceCheckoutWorkflow workflow = client.newWorkflowStub(
-                FixedPriceCheckoutWorkflow.class,
-                workflowId
-        );
+    public CompletableFuture<Void> sendIntentCreated(String workflowId, UUID orderId, String paymentIntentId, String clientSecret) {
+        FixedPriceCheckoutWorkflow workflow = stubCache.get(FixedPriceCheckoutWorkflow.class, workflowId);
 
-        workflow.intentCreated(orderId, paymentIntentId, clientSecret);
+        return signalDispatcher.dispatch(
+                "intentCreated",
+                workflowId,
+                () -> workflow.intentCreated(orderId, paymentIntentId, clientSecret)
+        );
     }
 }
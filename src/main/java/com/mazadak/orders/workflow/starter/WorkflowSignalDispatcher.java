@@ -0,0 +1,77 @@
+package com.mazadak.orders.workflow.starter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends workflow signals off the caller's thread so event consumers can pipeline them instead of waiting on one
+ * gRPC call at a time. At most {@code orders.workflow-signals.max-in-flight} signals are outstanding; beyond that
+ * {@link #dispatch} blocks the caller, pushing back on the consumer rather than queueing without bound.
+ */
+@Component
+@Slf4j
+public class WorkflowSignalDispatcher {
+    private static final String SIGNALS_METRIC = "orders.workflow.signals";
+
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("workflow-signal-", 0).factory()
+    );
+
+    public WorkflowSignalDispatcher(
+            MeterRegistry meterRegistry,
+            @Value("${orders.workflow-signals.max-in-flight:64}") int maxInFlight
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxInFlight);
+
+        Gauge.builder(SIGNALS_METRIC + ".in-flight", inFlight, AtomicInteger::get)
+                .description("Workflow signals sent but not yet acknowledged")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Void> dispatch(String signalName, String workflowId, Runnable signal) {
+        permits.acquireUninterruptibly();
+        inFlight.incrementAndGet();
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        try {
+            return CompletableFuture.runAsync(signal, executor)
+                    .whenComplete((ignored, error) -> {
+                        inFlight.decrementAndGet();
+                        permits.release();
+                        sample.stop(Timer.builder(SIGNALS_METRIC)
+                                .tag("signal", signalName)
+                                .tag("outcome", error == null ? "success" : "failure")
+                                .register(meterRegistry));
+
+                        if (error != null) {
+                            log.warn("Signal {} to workflow {} failed: {}", signalName, workflowId, error.getMessage());
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            permits.release();
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.mazadak.orders.workflow.starter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.temporal.client.WorkflowClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of typed stubs for running workflows, keyed by workflow id, so signalling an active checkout does not
+ * build a new stub proxy for every event.
+ */
+@Component
+public class WorkflowStubCache {
+    private final WorkflowClient client;
+    private final Cache<StubKey, Object> stubs;
+
+    public WorkflowStubCache(
+            WorkflowClient client,
+            @Value("${orders.workflow-stub-cache.size:10000}") long size,
+            @Value("${orders.workflow-stub-cache.expire-after-access:30m}") Duration expireAfterAccess
+    ) {
+        this.client = client;
+        this.stubs = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public <T> T get(Class<T> workflowInterface, String workflowId) {
+        return workflowInterface.cast(stubs.get(
+                new StubKey(workflowInterface, workflowId),
+                key -> client.newWorkflowStub(workflowInterface, workflowId)
+        ));
+    }
+
+    private record StubKey(Class<?> workflowInterface, String workflowId) { }
+}
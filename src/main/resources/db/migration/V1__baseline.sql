@@ -0,0 +1,43 @@
+-- Schema as previously created by hibernate.ddl-auto=update. Databases that already have these tables are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and start from V2.
+
+create table if not exists orders (
+    id                uuid                        not null,
+    created_at        timestamp(6) with time zone not null,
+    created_by        varchar(255),
+    updated_at        timestamp(6) with time zone not null,
+    updated_by        varchar(255),
+    auction_id        uuid,
+    buyer_id          uuid,
+    cart_id           uuid,
+    client_secret     varchar(255),
+    idempotency_key   uuid,
+    payment_intent_id varchar(255),
+    payment_status    varchar(255) check (payment_status in ('PENDING', 'AUTHORIZED', 'CAPTURED', 'FAILED', 'REFUNDED')),
+    shipping_street   varchar(255),
+    shipping_city     varchar(255),
+    shipping_state    varchar(255),
+    postal_code       varchar(255),
+    shipping_country  varchar(255),
+    status            varchar(255) check (status in ('PENDING', 'CONFIRMED', 'COMPLETED', 'CANCELLED', 'FAILED')),
+    total_amount      numeric(38, 2),
+    type              varchar(255) check (type in ('FIXED_PRICE', 'AUCTION')),
+    primary key (id)
+);
+
+create table if not exists order_items (
+    id           uuid                        not null,
+    created_at   timestamp(6) with time zone not null,
+    created_by   varchar(255),
+    updated_at   timestamp(6) with time zone not null,
+    updated_by   varchar(255),
+    product_id   uuid,
+    product_name varchar(255),
+    quantity     integer                     not null,
+    seller_id    uuid,
+    subtotal     numeric(38, 2),
+    unit_price   numeric(38, 2),
+    order_id     uuid                        not null,
+    primary key (id),
+    constraint fk_order_items_order_id foreign key (order_id) references orders (id)
+);
@@ -0,0 +1,17 @@
+-- One index per OrderFilterDto filter. Listings are sorted and keyset-paged by (created_at, id), so the equality
+-- filters that return many rows carry those columns as a suffix and serve the sort without a separate step.
+
+create index if not exists idx_orders_created_at_id on orders (created_at, id);
+create index if not exists idx_orders_buyer_id_created_at_id on orders (buyer_id, created_at, id);
+create index if not exists idx_orders_status_created_at_id on orders (status, created_at, id);
+create index if not exists idx_orders_type_created_at_id on orders (type, created_at, id);
+create index if not exists idx_orders_total_amount on orders (total_amount);
+create index if not exists idx_orders_auction_id on orders (auction_id);
+create index if not exists idx_orders_cart_id on orders (cart_id);
+create index if not exists idx_orders_idempotency_key on orders (idempotency_key);
+
+-- sellerIds / productIds filters are EXISTS semi-joins probing (attribute, order_id); order_id alone backs the
+-- item loading of a listing page and the foreign key.
+create index if not exists idx_order_items_order_id on order_items (order_id);
+create index if not exists idx_order_items_seller_id_order_id on order_items (seller_id, order_id);
+create index if not exists idx_order_items_product_id_order_id on order_items (product_id, order_id);
@@ -0,0 +1,3 @@
+-- A checkout's Idempotency-Key identifies exactly one order. Auction orders have no key, and NULLs never collide.
+drop index if exists idx_orders_idempotency_key;
+create unique index if not exists uq_orders_idempotency_key on orders (idempotency_key);
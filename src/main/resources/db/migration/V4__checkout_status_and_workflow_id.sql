@@ -0,0 +1,14 @@
+-- Added after the baseline: the checkout status projection and the orderId -> workflowId routing column. Databases
+-- baselined at V1 get them here.
+
+alter table orders add column if not exists workflow_id varchar(255);
+
+create table if not exists checkout_status (
+    order_id    uuid                        not null,
+    workflow_id varchar(255)                not null,
+    step        varchar(255)                not null check (step in ('ORDER_CREATED', 'ADDRESS_RECEIVED', 'INTENT_CREATED',
+                                                                     'PAYMENT_AUTHORIZED', 'PAYMENT_CAPTURED', 'COMPLETED',
+                                                                     'CANCELLED', 'FAILED')),
+    updated_at  timestamp(6) with time zone not null,
+    primary key (order_id)
+);
@@ -0,0 +1,123 @@
+package com.mazadak.orders.client;
+
+import com.mazadak.orders.dto.response.ProductResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductBatchLoader Tests")
+class ProductBatchLoaderTest {
+
+    @Mock
+    private ProductClient productClient;
+
+    private ProductBatchLoader productBatchLoader;
+
+    @BeforeEach
+    void setUp() {
+        productBatchLoader = new ProductBatchLoader(productClient, new SimpleMeterRegistry(), 10, Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productBatchLoader.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should merge concurrent lookups into one de-duplicated call")
+    void shouldMergeConcurrentLookups() {
+        // Arrange
+        UUID shared = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(productClient.getProductsByIds(anyList())).thenAnswer(invocation -> ResponseEntity.ok(
+                invocation.<List<UUID>>getArgument(0).stream().map(ProductBatchLoaderTest::product).toList()));
+
+        // Act
+        CompletableFuture<Map<UUID, ProductResponseDTO>> firstLookup = productBatchLoader.load(List.of(shared, first));
+        CompletableFuture<Map<UUID, ProductResponseDTO>> secondLookup = productBatchLoader.load(List.of(shared, second));
+
+        // Assert
+        assertThat(firstLookup.join()).containsOnlyKeys(shared, first);
+        assertThat(secondLookup.join()).containsOnlyKeys(shared, second);
+
+        ArgumentCaptor<List<UUID>> batch = ArgumentCaptor.captor();
+        verify(productClient, times(1)).getProductsByIds(batch.capture());
+        assertThat(batch.getValue()).containsExactlyInAnyOrder(shared, first, second);
+    }
+
+    @Test
+    @DisplayName("Should flush as soon as a batch is full")
+    void shouldFlushFullBatches() {
+        // Arrange
+        List<UUID> productIds = IntStream.range(0, 25).mapToObj(i -> UUID.randomUUID()).toList();
+        when(productClient.getProductsByIds(anyList())).thenAnswer(invocation -> ResponseEntity.ok(
+                invocation.<List<UUID>>getArgument(0).stream().map(ProductBatchLoaderTest::product).toList()));
+
+        // Act
+        Map<UUID, ProductResponseDTO> products = productBatchLoader.load(productIds).join();
+
+        // Assert
+        assertThat(products).containsOnlyKeys(productIds);
+        verify(productClient, times(3)).getProductsByIds(anyList());
+    }
+
+    @Test
+    @DisplayName("Should leave unknown products out of the result")
+    void shouldLeaveUnknownProductsOut() {
+        // Arrange
+        UUID known = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        when(productClient.getProductsByIds(anyList())).thenReturn(ResponseEntity.ok(List.of(product(known))));
+
+        // Act
+        Map<UUID, ProductResponseDTO> products = productBatchLoader.load(List.of(known, unknown)).join();
+
+        // Assert
+        assertThat(products).containsOnlyKeys(known);
+    }
+
+    @Test
+    @DisplayName("Should fail every caller of a failed batch")
+    void shouldFailEveryCallerOfFailedBatch() {
+        // Arrange
+        when(productClient.getProductsByIds(anyList())).thenThrow(new IllegalStateException("product-catalog down"));
+
+        // Act
+        CompletableFuture<Map<UUID, ProductResponseDTO>> firstLookup = productBatchLoader.load(List.of(UUID.randomUUID()));
+        CompletableFuture<Map<UUID, ProductResponseDTO>> secondLookup = productBatchLoader.load(List.of(UUID.randomUUID()));
+
+        // Assert
+        assertThatThrownBy(firstLookup::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(secondLookup::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        verify(productClient, times(1)).getProductsByIds(anyList());
+    }
+
+    private static ProductResponseDTO product(UUID productId) {
+        return new ProductResponseDTO(productId, UUID.randomUUID(), "Product", null, BigDecimal.TEN, 1L);
+    }
+}
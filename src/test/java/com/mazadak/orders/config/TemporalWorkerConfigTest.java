@@ -0,0 +1,152 @@
+package com.mazadak.orders.config;
+
+import io.temporal.worker.WorkerOptions;
+import io.temporal.worker.tuning.CompositeTuner;
+import io.temporal.worker.tuning.PollerBehaviorAutoscaling;
+import io.temporal.worker.tuning.PollerBehaviorSimpleMaximum;
+import io.temporal.worker.tuning.ResourceBasedController;
+import io.temporal.worker.tuning.ResourceBasedControllerOptions;
+import io.temporal.worker.tuning.ResourceBasedSlotSupplier;
+import io.temporal.worker.tuning.ResourceBasedTuner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Temporal Worker Config Tests")
+class TemporalWorkerConfigTest {
+
+    private TemporalWorkerConfig config;
+    private ResourceBasedController resourceController;
+
+    @BeforeEach
+    void setUp() {
+        config = new TemporalWorkerConfig();
+        ReflectionTestUtils.setField(config, "virtualThreads", true);
+        resourceController = ResourceBasedController.newSystemInfoController(
+                ResourceBasedControllerOptions.newBuilder(0.8, 0.9).build()
+        );
+    }
+
+    private static TemporalWorkerProperties bind(Map<String, String> properties) {
+        return new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("temporal.worker", TemporalWorkerProperties.class);
+    }
+
+    private WorkerOptions validatedWorkerOptions(TemporalWorkerProperties.TaskQueue queue) {
+        // the worker factory applies the same validation when the worker is created
+        return WorkerOptions.newBuilder(config.workerOptions(queue, resourceController)).validateAndBuildWithDefaults();
+    }
+
+    @Nested
+    @DisplayName("Defaults")
+    class Defaults {
+
+        @Test
+        @DisplayName("Should keep the SDK defaults when a task queue is not configured")
+        void shouldKeepSdkDefaultsWhenQueueIsNotConfigured() {
+            // Arrange
+            TemporalWorkerProperties properties = bind(Map.of());
+
+            // Act
+            WorkerOptions options = validatedWorkerOptions(properties.auctionCheckout());
+
+            // Assert
+            assertThat(properties.workflowCacheSize()).isEqualTo(600);
+            assertThat(properties.metricsReportInterval()).isEqualTo(Duration.ofSeconds(10));
+            assertThat(options.getMaxConcurrentActivityExecutionSize())
+                    .isEqualTo(WorkerOptions.getDefaultInstance().getMaxConcurrentActivityExecutionSize());
+            assertThat(options.getMaxConcurrentActivityTaskPollers())
+                    .isEqualTo(WorkerOptions.getDefaultInstance().getMaxConcurrentActivityTaskPollers());
+            assertThat(options.isUsingVirtualThreadsOnActivityWorker()).isTrue();
+            assertThat(options.isUsingVirtualThreadsOnLocalActivityWorker()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Fixed Slots")
+    class FixedSlots {
+
+        @Test
+        @DisplayName("Should apply execution sizes, poller maximums and rate limits per task queue")
+        void shouldApplyFixedSizesPerQueue() {
+            // Arrange
+            TemporalWorkerProperties properties = bind(Map.of(
+                    "temporal.worker.fixed-price-checkout.max-concurrent-activities", "50",
+                    "temporal.worker.fixed-price-checkout.max-concurrent-workflow-tasks", "20",
+                    "temporal.worker.fixed-price-checkout.activity-pollers.maximum", "8",
+                    "temporal.worker.fixed-price-checkout.max-task-queue-activities-per-second", "100"
+            ));
+
+            // Act
+            WorkerOptions fixedPrice = validatedWorkerOptions(properties.fixedPriceCheckout());
+            WorkerOptions auction = validatedWorkerOptions(properties.auctionCheckout());
+
+            // Assert
+            assertThat(fixedPrice.getMaxConcurrentActivityExecutionSize()).isEqualTo(50);
+            assertThat(fixedPrice.getMaxConcurrentWorkflowTaskExecutionSize()).isEqualTo(20);
+            assertThat(fixedPrice.getActivityTaskPollersBehavior()).isEqualTo(new PollerBehaviorSimpleMaximum(8));
+            assertThat(fixedPrice.getMaxTaskQueueActivitiesPerSecond()).isEqualTo(100.0);
+            assertThat(auction.getMaxConcurrentActivityExecutionSize())
+                    .isEqualTo(WorkerOptions.getDefaultInstance().getMaxConcurrentActivityExecutionSize());
+        }
+
+        @Test
+        @DisplayName("Should autoscale pollers between the configured bounds")
+        void shouldAutoscalePollers() {
+            // Arrange
+            TemporalWorkerProperties properties = bind(Map.of(
+                    "temporal.worker.auction-checkout.workflow-pollers.autoscaling", "true",
+                    "temporal.worker.auction-checkout.activity-pollers.autoscaling", "true",
+                    "temporal.worker.auction-checkout.activity-pollers.minimum", "2",
+                    "temporal.worker.auction-checkout.activity-pollers.maximum", "20"
+            ));
+
+            // Act
+            WorkerOptions options = validatedWorkerOptions(properties.auctionCheckout());
+
+            // Assert
+            assertThat(options.getWorkflowTaskPollersBehavior()).isInstanceOf(PollerBehaviorAutoscaling.class);
+            PollerBehaviorAutoscaling activityPollers = (PollerBehaviorAutoscaling) options.getActivityTaskPollersBehavior();
+            assertThat(activityPollers.getMinConcurrentTaskPollers()).isEqualTo(2);
+            assertThat(activityPollers.getMaxConcurrentTaskPollers()).isEqualTo(20);
+        }
+    }
+
+    @Nested
+    @DisplayName("Resource-Based Slots")
+    class ResourceBasedSlots {
+
+        @Test
+        @DisplayName("Should cap resource-based slot suppliers with the configured sizes")
+        void shouldCapResourceBasedSlotSuppliers() {
+            // Arrange
+            TemporalWorkerProperties properties = bind(Map.of(
+                    "temporal.worker.fixed-price-checkout.resource-based-slots", "true",
+                    "temporal.worker.fixed-price-checkout.max-concurrent-activities", "300",
+                    "temporal.worker.fixed-price-checkout.max-concurrent-workflow-tasks", "3"
+            ));
+
+            // Act
+            WorkerOptions options = validatedWorkerOptions(properties.fixedPriceCheckout());
+
+            // Assert
+            CompositeTuner tuner = (CompositeTuner) options.getWorkerTuner();
+            ResourceBasedSlotSupplier<?> activitySlots = (ResourceBasedSlotSupplier<?>) tuner.getActivityTaskSlotSupplier();
+            assertThat(activitySlots.getResourceController()).isSameAs(resourceController);
+            assertThat(activitySlots).extracting("options.maximumSlots").isEqualTo(300);
+            assertThat(tuner.getWorkflowTaskSlotSupplier()).extracting("options.maximumSlots", "options.minimumSlots")
+                    .containsExactly(3, 3);
+            assertThat(tuner.getLocalActivitySlotSupplier()).extracting("options")
+                    .isEqualTo(ResourceBasedTuner.DEFAULT_ACTIVITY_SLOT_OPTIONS);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.mazadak.orders.config;
+
+import com.sun.net.httpserver.HttpServer;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs concurrent checkouts, each making the blocking downstream calls of a fixed-price checkout (cart, products,
+ * inventory) through OkHttp against a stub with fixed latency, once on a pool the size of Tomcat's default
+ * {@code max-threads} and once on virtual threads. Run with {@code -Dorders.benchmark.virtual-threads=true
+ * [-Dorders.benchmark.checkouts=2000] [-Dorders.benchmark.latency-ms=500]}. The latency has to keep the run I/O-bound
+ * on the machine at hand: once the CPU saturates, extra concurrency only adds connection overhead.
+ */
+@DisplayName("Virtual Thread Benchmark")
+@EnabledIfSystemProperty(named = "orders.benchmark.virtual-threads", matches = "true")
+class VirtualThreadBenchmarkTest {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadBenchmarkTest.class);
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final List<String> DOWNSTREAM_CALLS = List.of("/carts", "/products/batch", "/inventories/reservations");
+
+    private final int checkouts = Integer.getInteger("orders.benchmark.checkouts", 2_000);
+    private final long latencyMillis = Long.getLong("orders.benchmark.latency-ms", 500);
+
+    private HttpServer downstream;
+    private ScheduledExecutorService downstreamScheduler;
+    private OkHttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // responds from a scheduler instead of sleeping per request, so the stub costs the same in both runs
+        downstreamScheduler = Executors.newSingleThreadScheduledExecutor();
+        downstream = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), checkouts);
+        downstream.createContext("/", exchange -> downstreamScheduler.schedule(() -> {
+            byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            try (OutputStream out = exchange.getResponseBody()) {
+                exchange.sendResponseHeaders(200, body.length);
+                out.write(body);
+            } catch (IOException e) {
+                log.warn("Stub response failed: {}", e.getMessage());
+            }
+        }, latencyMillis, TimeUnit.MILLISECONDS));
+        downstream.start();
+
+        httpClient = new OkHttpClient.Builder()
+                .connectionPool(new okhttp3.ConnectionPool(checkouts, 1, TimeUnit.MINUTES))
+                .readTimeout(Duration.ofMinutes(1))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        downstream.stop(0);
+        downstreamScheduler.shutdownNow();
+        httpClient.dispatcher().executorService().shutdown();
+        httpClient.connectionPool().evictAll();
+    }
+
+    @Test
+    @DisplayName("Should complete concurrent checkouts faster on virtual threads")
+    void compareThroughputAndMemory() throws Exception {
+        // Arrange
+        run(Executors.newVirtualThreadPerTaskExecutor(), checkouts); // open every pooled connection and warm up the JIT
+
+        // Act
+        CheckoutRun platform = run(Executors.newFixedThreadPool(PLATFORM_THREADS), checkouts);
+        CheckoutRun virtual = run(Executors.newVirtualThreadPerTaskExecutor(), checkouts);
+
+        // Assert
+        log.info("{} checkouts x {} calls at {} ms: platform({} threads) {} checkouts/s, peak {} threads, peak heap {} MB; "
+                        + "virtual {} checkouts/s, peak {} threads, peak heap {} MB",
+                checkouts, DOWNSTREAM_CALLS.size(), latencyMillis, PLATFORM_THREADS,
+                platform.checkoutsPerSecond(), platform.peakThreads(), platform.peakHeapBytes() >> 20,
+                virtual.checkoutsPerSecond(), virtual.peakThreads(), virtual.peakHeapBytes() >> 20);
+        assertThat(virtual.checkoutsPerSecond()).isGreaterThan(platform.checkoutsPerSecond());
+    }
+
+    private CheckoutRun run(ExecutorService executor, int count) throws Exception {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+
+        AtomicLong peakHeap = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(1);
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (done.getCount() > 0) {
+                peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    done.await(10, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        String baseUrl = "http://127.0.0.1:" + downstream.getAddress().getPort();
+        long start = System.nanoTime();
+        try (executor) {
+            List<Future<?>> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(executor.submit(() -> checkout(baseUrl)));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        done.countDown();
+        sampler.join();
+        return new CheckoutRun(count * TimeUnit.SECONDS.toNanos(1) / elapsed, threads.getPeakThreadCount(), peakHeap.get());
+    }
+
+    private Void checkout(String baseUrl) throws IOException {
+        for (String path : DOWNSTREAM_CALLS) {
+            try (Response response = httpClient.newCall(new Request.Builder().url(baseUrl + path).build()).execute()) {
+                assertThat(response.code()).isEqualTo(200);
+                response.body().string();
+            }
+        }
+        return null;
+    }
+
+    private record CheckoutRun(long checkoutsPerSecond, int peakThreads, long peakHeapBytes) { }
+}
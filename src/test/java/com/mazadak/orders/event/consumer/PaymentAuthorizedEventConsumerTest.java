@@ -0,0 +1,84 @@
+package com.mazadak.orders.event.consumer;
+
+import com.mazadak.common.exception.shared.ResourceNotFoundException;
+import com.mazadak.orders.dto.event.PaymentAuthorizedEvent;
+import com.mazadak.orders.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PaymentAuthorizedEventConsumer Tests")
+class PaymentAuthorizedEventConsumerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private PaymentAuthorizedEventConsumer consumer;
+
+    private UUID first;
+    private UUID unknown;
+    private UUID closed;
+    private UUID last;
+
+    @BeforeEach
+    void setUp() {
+        first = UUID.randomUUID();
+        unknown = UUID.randomUUID();
+        closed = UUID.randomUUID();
+        last = UUID.randomUUID();
+    }
+
+    private static PaymentAuthorizedEvent event(UUID orderId) {
+        return new PaymentAuthorizedEvent("pi_" + orderId, orderId.toString(), "FIXED_PRICE", BigDecimal.TEN);
+    }
+
+    @Test
+    @DisplayName("Should signal every event and report only the first failing index")
+    void shouldSignalWholeBatchAndReportFailingIndex() {
+        // Arrange
+        when(orderService.authorizePayment(first, "pi_" + first)).thenReturn(CompletableFuture.completedFuture(null));
+        when(orderService.authorizePayment(unknown, "pi_" + unknown))
+                .thenThrow(new ResourceNotFoundException("Order", "id", unknown.toString()));
+        when(orderService.authorizePayment(closed, "pi_" + closed))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("workflow closed")));
+        when(orderService.authorizePayment(last, "pi_" + last)).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act & Assert
+        assertThatThrownBy(() -> consumer.accept(List.of(event(first), event(unknown), event(closed), event(last))))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class, e -> {
+                    assertThat(e.getIndex()).isEqualTo(1);
+                    assertThat(e.getCause()).isInstanceOf(ResourceNotFoundException.class);
+                });
+        verify(orderService).authorizePayment(last, "pi_" + last);
+        verify(orderService, times(4)).authorizePayment(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should complete when every signal is accepted")
+    void shouldCompleteWhenEverySignalIsAccepted() {
+        // Arrange
+        when(orderService.authorizePayment(any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        consumer.accept(List.of(event(first), event(last)));
+
+        // Assert
+        verify(orderService, times(2)).authorizePayment(any(), any());
+    }
+}
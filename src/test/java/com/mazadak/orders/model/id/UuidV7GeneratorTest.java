@@ -0,0 +1,151 @@
+package com.mazadak.orders.model.id;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("UuidV7Generator Tests")
+class UuidV7GeneratorTest {
+
+    private static final Logger log = LoggerFactory.getLogger(UuidV7GeneratorTest.class);
+
+    private final UuidV7Generator generator = new UuidV7Generator();
+
+    @Test
+    @DisplayName("Should generate RFC 9562 version 7 ids carrying the current time")
+    void shouldGenerateVersion7Ids() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID id = generator.generate();
+
+        // Assert
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, System.currentTimeMillis());
+    }
+
+    @Test
+    @DisplayName("Should generate strictly increasing ids within the same millisecond")
+    void shouldIncreaseWithinSameMillisecond() {
+        // Arrange
+        UuidV7Generator frozen = new UuidV7Generator(Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC));
+
+        // Act
+        List<UUID> ids = IntStream.range(0, 10_000).mapToObj(i -> frozen.generate()).toList();
+
+        // Assert
+        assertThat(ids).isSortedAccordingTo(UuidV7GeneratorTest::compareUnsigned);
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+    }
+
+    @Test
+    @DisplayName("Should stay unique across concurrent callers")
+    void shouldStayUniqueAcrossThreads() {
+        // Act
+        List<UUID> ids = IntStream.range(0, 100_000).parallel().mapToObj(i -> generator.generate()).toList();
+
+        // Assert
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+    }
+
+    /**
+     * Compares the primary key index of random and time-ordered ids on a real PostgreSQL. Run with
+     * {@code -Dorders.benchmark.jdbc-url=jdbc:postgresql://localhost:5432/orders -Dorders.benchmark.username=...
+     * -Dorders.benchmark.password=... [-Dorders.benchmark.rows=10000000]}.
+     */
+    @Nested
+    @DisplayName("Index Locality Benchmark")
+    @EnabledIfSystemProperty(named = "orders.benchmark.jdbc-url", matches = ".+")
+    class IndexLocalityBenchmark {
+
+        private static final int BATCH_SIZE = 10_000;
+
+        @Test
+        @DisplayName("Should insert faster into a smaller primary key index than random ids")
+        void compareRandomAndTimeOrderedIds() throws Exception {
+            // Arrange
+            long rows = Long.getLong("orders.benchmark.rows", 10_000_000L);
+
+            // Act
+            InsertRun random = insert("uuid_bench_v4", rows, UUID::randomUUID);
+            InsertRun timeOrdered = insert("uuid_bench_v7", rows, generator::generate);
+
+            // Assert
+            log.info("{} rows, v4: {} rows/s, pkey {} MB; v7: {} rows/s, pkey {} MB", rows,
+                    random.rowsPerSecond(), random.indexBytes() >> 20,
+                    timeOrdered.rowsPerSecond(), timeOrdered.indexBytes() >> 20);
+            assertThat(timeOrdered.indexBytes()).isLessThanOrEqualTo(random.indexBytes());
+        }
+
+        private InsertRun insert(String table, long rows, Supplier<UUID> ids) throws Exception {
+            try (Connection connection = DriverManager.getConnection(
+                    System.getProperty("orders.benchmark.jdbc-url"),
+                    System.getProperty("orders.benchmark.username"),
+                    System.getProperty("orders.benchmark.password"))) {
+                try (Statement ddl = connection.createStatement()) {
+                    ddl.execute("drop table if exists " + table);
+                    ddl.execute("create table " + table + " (id uuid primary key, created_at timestamptz not null)");
+                }
+                connection.setAutoCommit(false);
+
+                long start = System.nanoTime();
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "insert into " + table + " (id, created_at) values (?, now())")) {
+                    for (long i = 1; i <= rows; i++) {
+                        insert.setObject(1, ids.get());
+                        insert.addBatch();
+                        if (i % BATCH_SIZE == 0 || i == rows) {
+                            insert.executeBatch();
+                            connection.commit();
+                        }
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+
+                long indexBytes;
+                try (Statement size = connection.createStatement();
+                     ResultSet result = size.executeQuery("select pg_relation_size('" + table + "_pkey')")) {
+                    result.next();
+                    indexBytes = result.getLong(1);
+                }
+                try (Statement ddl = connection.createStatement()) {
+                    ddl.execute("drop table " + table);
+                }
+                connection.commit();
+
+                return new InsertRun(rows * TimeUnit.SECONDS.toNanos(1) / elapsed, indexBytes);
+            }
+        }
+    }
+
+    private static int compareUnsigned(UUID left, UUID right) {
+        int high = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+    }
+
+    private record InsertRun(long rowsPerSecond, long indexBytes) { }
+}
@@ -0,0 +1,60 @@
+package com.mazadak.orders.repository;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Migrates a database that already holds the pre-Flyway schema the way production does: baselined at V1, so only the
+ * later migrations run.
+ */
+@DisplayName("Flyway Baseline Tests")
+class FlywayBaselineTest {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:baseline-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    @DisplayName("Should add every post-baseline table and column to a baselined database")
+    void shouldUpgradeBaselinedDatabase() throws IOException {
+        // Arrange: the schema hibernate.ddl-auto=update had created before Flyway
+        jdbcTemplate.execute(StreamUtils.copyToString(
+                new ClassPathResource("db/migration/V1__baseline.sql").getInputStream(), StandardCharsets.UTF_8));
+
+        // Act
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        // Assert
+        assertThat(columnCount("ORDERS", "WORKFLOW_ID")).isEqualTo(1);
+        assertThat(columnCount("CHECKOUT_STATUS", "STEP")).isEqualTo(1);
+    }
+
+    private int columnCount(String table, String column) {
+        return jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.columns where table_name = ? and column_name = ?",
+                Integer.class, table, column);
+    }
+}
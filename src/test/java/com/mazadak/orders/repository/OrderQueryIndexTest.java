@@ -0,0 +1,196 @@
+package com.mazadak.orders.repository;
+
+import com.mazadak.orders.dto.request.OrderFilterDto;
+import com.mazadak.orders.model.entity.Order;
+import com.mazadak.orders.model.enumeration.OrderStatus;
+import com.mazadak.orders.model.enumeration.OrderType;
+import com.mazadak.orders.repository.specification.OrderSpecifications;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the Flyway migrations, captures the SQL Hibernate generates for each {@code OrderFilterDto} filter through
+ * {@code OrderSpecifications}, and checks that H2 answers it from the migration's index rather than a table scan.
+ * This shows the generated SQL has a shape the indexes can serve; PostgreSQL still picks its own plans from its
+ * statistics.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ContextConfiguration(classes = OrderQueryIndexTest.JpaConfig.class)
+@DisplayName("Order query index Tests")
+class OrderQueryIndexTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @EntityScan(basePackageClasses = Order.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    static class JpaConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            });
+        }
+    }
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        STATEMENTS.clear();
+    }
+
+    static Stream<Arguments> filters() {
+        UUID id = UUID.randomUUID();
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+        return Stream.of(
+                Arguments.of("buyerId", filter(id, null, null, null, null, null, null, null, null),
+                        "IDX_ORDERS_BUYER_ID_CREATED_AT_ID"),
+                Arguments.of("type", filter(null, null, OrderType.AUCTION, null, null, null, null, null, null),
+                        "IDX_ORDERS_TYPE_CREATED_AT_ID"),
+                Arguments.of("status", filter(null, null, null, null, null, OrderStatus.PENDING, null, null, null),
+                        "IDX_ORDERS_STATUS_CREATED_AT_ID"),
+                Arguments.of("minAmount/maxAmount",
+                        filter(null, null, null, BigDecimal.ONE, BigDecimal.TEN, null, null, null, null),
+                        "IDX_ORDERS_TOTAL_AMOUNT"),
+                Arguments.of("auctionId", filter(null, null, null, null, null, null, null, id, null),
+                        "IDX_ORDERS_AUCTION_ID"),
+                Arguments.of("cartId", filter(null, null, null, null, null, null, null, null, id),
+                        "IDX_ORDERS_CART_ID"),
+                Arguments.of("sellerIds", filter(null, ids, null, null, null, null, null, null, null),
+                        "IDX_ORDER_ITEMS_SELLER_ID_ORDER_ID"),
+                Arguments.of("productIds", filter(null, null, null, null, null, null, ids, null, null),
+                        "IDX_ORDER_ITEMS_PRODUCT_ID_ORDER_ID")
+        );
+    }
+
+    private static OrderFilterDto filter(UUID buyerId, List<UUID> sellerIds, OrderType type, BigDecimal minAmount,
+                                         BigDecimal maxAmount, OrderStatus status, List<UUID> productIds,
+                                         UUID auctionId, UUID cartId) {
+        return new OrderFilterDto(buyerId, sellerIds, type, minAmount, maxAmount, status, productIds, auctionId, cartId);
+    }
+
+    /**
+     * Explains the single statement {@code query} ran against orders. Parameters are bound as {@code NULL}: H2 picks
+     * its indexes when the statement is prepared, from the shape of the conditions rather than their values.
+     */
+    private String explainCaptured(Runnable query) {
+        query.run();
+        List<String> selects = STATEMENTS.stream().filter(sql -> sql.startsWith("select")).toList();
+        assertThat(selects).hasSize(1);
+
+        String sql = selects.getFirst();
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+    }
+
+    @Nested
+    @DisplayName("Filter plans")
+    class FilterPlans {
+
+        @ParameterizedTest(name = "{0}")
+        @MethodSource("com.mazadak.orders.repository.OrderQueryIndexTest#filters")
+        @DisplayName("Should use the filter's index")
+        void shouldUseFilterIndex(String name, OrderFilterDto filter, String expectedIndex) {
+            // Act
+            String plan = explainCaptured(() ->
+                    orderRepository.findAll(OrderSpecifications.buildFromFilter(filter), FIRST_PAGE));
+
+            // Assert
+            assertThat(plan).as("plan for %s", name).contains(expectedIndex);
+        }
+
+        @Test
+        @DisplayName("Should serve an unfiltered listing in index order")
+        void shouldServeUnfilteredListingInIndexOrder() {
+            // Act
+            String plan = explainCaptured(() -> orderRepository.findAll(
+                    OrderSpecifications.buildFromFilter(filter(null, null, null, null, null, null, null, null, null)),
+                    FIRST_PAGE));
+
+            // Assert
+            assertThat(plan).contains("IDX_ORDERS_CREATED_AT_ID").doesNotContain("tableScan");
+        }
+
+        @Test
+        @DisplayName("Should look up an order by idempotency key through its index")
+        void shouldLookUpByIdempotencyKey() {
+            // Act
+            String plan = explainCaptured(() -> orderRepository.findByIdempotencyKey(UUID.randomUUID()));
+
+            // Assert
+            assertThat(plan).contains("UQ_ORDERS_IDEMPOTENCY_KEY");
+        }
+    }
+
+    @Nested
+    @DisplayName("Idempotency key constraint")
+    class IdempotencyKeyConstraint {
+
+        private static final String INSERT_ORDER = """
+                insert into orders (id, created_at, updated_at, idempotency_key)
+                values (random_uuid(), current_timestamp, current_timestamp, ?)
+                """;
+
+        @Test
+        @DisplayName("Should reject a second order with the same idempotency key")
+        void shouldRejectDuplicateIdempotencyKey() {
+            // Arrange
+            UUID idempotencyKey = UUID.randomUUID();
+            jdbcTemplate.update(INSERT_ORDER, idempotencyKey);
+
+            // Act & Assert
+            assertThatThrownBy(() -> jdbcTemplate.update(INSERT_ORDER, idempotencyKey))
+                    .isInstanceOf(DuplicateKeyException.class);
+        }
+
+        @Test
+        @DisplayName("Should allow any number of orders without a key")
+        void shouldAllowOrdersWithoutKey() {
+            // Act
+            jdbcTemplate.update(INSERT_ORDER, (Object) null);
+            jdbcTemplate.update(INSERT_ORDER, (Object) null);
+
+            // Assert
+            assertThat(jdbcTemplate.queryForObject(
+                    "select count(*) from orders where idempotency_key is null", Integer.class)).isEqualTo(2);
+        }
+    }
+}
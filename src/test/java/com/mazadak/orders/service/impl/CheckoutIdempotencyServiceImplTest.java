@@ -0,0 +1,123 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.exception.IdempotencyKeyConflictException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.temporal.api.common.v1.WorkflowExecution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CheckoutIdempotencyService Tests")
+class CheckoutIdempotencyServiceImplTest {
+
+    private CheckoutIdempotencyServiceImpl checkoutIdempotencyService;
+
+    private UUID idempotencyKey;
+    private UUID buyerId;
+    private WorkflowExecution execution;
+
+    @BeforeEach
+    void setUp() {
+        checkoutIdempotencyService = new CheckoutIdempotencyServiceImpl(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        idempotencyKey = UUID.randomUUID();
+        buyerId = UUID.randomUUID();
+        execution = WorkflowExecution.newBuilder()
+                .setWorkflowId("fixed-price-checkout-" + idempotencyKey)
+                .setRunId("run-1")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should start once and return the original execution for repeated keys")
+    void shouldStartOnceForRepeatedKeys() {
+        // Arrange
+        AtomicInteger starts = new AtomicInteger();
+
+        // Act
+        WorkflowExecution first = checkoutIdempotencyService.getOrStart(idempotencyKey, buyerId, () -> {
+            starts.incrementAndGet();
+            return execution;
+        });
+        WorkflowExecution retry = checkoutIdempotencyService.getOrStart(idempotencyKey, buyerId, () -> {
+            starts.incrementAndGet();
+            return WorkflowExecution.getDefaultInstance();
+        });
+
+        // Assert
+        assertThat(first).isEqualTo(execution);
+        assertThat(retry).isEqualTo(execution);
+        assertThat(starts).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused by another buyer")
+    void shouldRejectKeyReusedByAnotherBuyer() {
+        // Arrange
+        checkoutIdempotencyService.getOrStart(idempotencyKey, buyerId, () -> execution);
+
+        // Act & Assert
+        assertThatThrownBy(() -> checkoutIdempotencyService.getOrStart(idempotencyKey, UUID.randomUUID(), () -> execution))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should not hold up other keys while a start is in flight")
+    void shouldNotBlockOtherKeysDuringStart() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<WorkflowExecution> slowStart = CompletableFuture.supplyAsync(() ->
+                checkoutIdempotencyService.getOrStart(idempotencyKey, buyerId, () -> {
+                    awaitUninterruptibly(release);
+                    return execution;
+                }));
+
+        // Act
+        WorkflowExecution other = CompletableFuture.supplyAsync(() ->
+                        checkoutIdempotencyService.getOrStart(UUID.randomUUID(), buyerId, WorkflowExecution::getDefaultInstance))
+                .get(5, TimeUnit.SECONDS);
+        release.countDown();
+
+        // Assert
+        assertThat(other).isEqualTo(WorkflowExecution.getDefaultInstance());
+        assertThat(slowStart.get(5, TimeUnit.SECONDS)).isEqualTo(execution);
+    }
+
+    @Test
+    @DisplayName("Should not remember a failed start")
+    void shouldNotRememberFailedStart() {
+        // Arrange
+        AtomicInteger starts = new AtomicInteger();
+
+        // Act
+        assertThatThrownBy(() -> checkoutIdempotencyService.getOrStart(idempotencyKey, buyerId, () -> {
+            starts.incrementAndGet();
+            throw new IllegalStateException("temporal unavailable");
+        })).isInstanceOf(IllegalStateException.class);
+        WorkflowExecution result = checkoutIdempotencyService.getOrStart(idempotencyKey, buyerId, () -> {
+            starts.incrementAndGet();
+            return execution;
+        });
+
+        // Assert
+        assertThat(result).isEqualTo(execution);
+        assertThat(starts).hasValue(2);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.dto.event.CheckoutStatusChangedEvent;
+import com.mazadak.orders.dto.internal.CheckoutStatusResponse;
+import com.mazadak.orders.model.entity.CheckoutStatus;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+import com.mazadak.orders.repository.CheckoutStatusRepository;
+import com.mazadak.orders.service.OrderCacheInvalidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CheckoutStatusService Tests")
+class CheckoutStatusServiceImplTest {
+
+    @Mock
+    private CheckoutStatusRepository checkoutStatusRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private OrderCacheInvalidationService invalidationService;
+
+    private CheckoutStatusServiceImpl checkoutStatusService;
+
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        checkoutStatusService = new CheckoutStatusServiceImpl(
+                checkoutStatusRepository, eventPublisher, invalidationService, Duration.ofMinutes(1), 100);
+        orderId = UUID.randomUUID();
+    }
+
+    private CheckoutStatus newStatus(CheckoutStep step) {
+        return new CheckoutStatus(orderId, "fixed-price-checkout-" + UUID.randomUUID(), step, Instant.now());
+    }
+
+    @Nested
+    @DisplayName("Find Status Tests")
+    class FindStatusTests {
+
+        @Test
+        @DisplayName("Should serve repeated polls from the cache")
+        void shouldServeRepeatedPollsFromCache() {
+            // Arrange
+            when(checkoutStatusRepository.findById(orderId)).thenReturn(Optional.of(newStatus(CheckoutStep.INTENT_CREATED)));
+
+            // Act
+            checkoutStatusService.findStatus(orderId);
+            Optional<CheckoutStatusResponse> result = checkoutStatusService.findStatus(orderId);
+
+            // Assert
+            assertThat(result).hasValueSatisfying(status -> {
+                assertThat(status.status()).isEqualTo("RUNNING");
+                assertThat(status.step()).isEqualTo(CheckoutStep.INTENT_CREATED);
+            });
+            verify(checkoutStatusRepository, times(1)).findById(orderId);
+        }
+
+        @Test
+        @DisplayName("Should not cache a missing projection row")
+        void shouldNotCacheMissingRow() {
+            // Arrange
+            when(checkoutStatusRepository.findById(orderId)).thenReturn(Optional.empty());
+
+            // Act
+            checkoutStatusService.findStatus(orderId);
+            Optional<CheckoutStatusResponse> result = checkoutStatusService.findStatus(orderId);
+
+            // Assert
+            assertThat(result).isEmpty();
+            verify(checkoutStatusRepository, times(2)).findById(orderId);
+        }
+
+        @Test
+        @DisplayName("Should report cancelled checkouts as failed")
+        void shouldReportCancelledAsFailed() {
+            // Arrange
+            when(checkoutStatusRepository.findById(orderId)).thenReturn(Optional.of(newStatus(CheckoutStep.CANCELLED)));
+
+            // Act
+            Optional<CheckoutStatusResponse> result = checkoutStatusService.findStatus(orderId);
+
+            // Assert
+            assertThat(result).map(CheckoutStatusResponse::status).hasValue("FAILED");
+        }
+    }
+
+    @Nested
+    @DisplayName("Record Step Tests")
+    class RecordStepTests {
+
+        @Test
+        @DisplayName("Should only advance from earlier, non-final steps")
+        void shouldOnlyAdvanceFromEarlierSteps() {
+            // Act
+            checkoutStatusService.recordStep(orderId, CheckoutStep.FAILED);
+
+            // Assert
+            verify(checkoutStatusRepository).advanceStep(eq(orderId), eq(EnumSet.of(
+                    CheckoutStep.ORDER_CREATED,
+                    CheckoutStep.ADDRESS_RECEIVED,
+                    CheckoutStep.INTENT_CREATED,
+                    CheckoutStep.PAYMENT_AUTHORIZED,
+                    CheckoutStep.PAYMENT_CAPTURED,
+                    CheckoutStep.CANCELLED
+            )), eq(CheckoutStep.FAILED), any(Instant.class));
+        }
+
+        @Test
+        @DisplayName("Should drop the cached status once a step is recorded")
+        void shouldInvalidateCachedStatus() {
+            // Arrange
+            when(checkoutStatusRepository.findById(orderId))
+                    .thenReturn(Optional.of(newStatus(CheckoutStep.PAYMENT_CAPTURED)))
+                    .thenReturn(Optional.of(newStatus(CheckoutStep.COMPLETED)));
+            when(checkoutStatusRepository.advanceStep(eq(orderId), any(), eq(CheckoutStep.COMPLETED), any(Instant.class)))
+                    .thenReturn(1);
+            checkoutStatusService.findStatus(orderId);
+
+            // Act
+            checkoutStatusService.recordStep(orderId, CheckoutStep.COMPLETED);
+            Optional<CheckoutStatusResponse> result = checkoutStatusService.findStatus(orderId);
+
+            // Assert
+            assertThat(result).map(CheckoutStatusResponse::status).hasValue("COMPLETED");
+            verify(eventPublisher).publishEvent(new CheckoutStatusChangedEvent(orderId));
+            verify(invalidationService).broadcast(orderId);
+        }
+
+        @Test
+        @DisplayName("Should drop a status re-cached before the recording transaction commits")
+        void shouldInvalidateAgainAfterCommit() {
+            // Arrange
+            when(checkoutStatusRepository.findById(orderId))
+                    .thenReturn(Optional.of(newStatus(CheckoutStep.PAYMENT_CAPTURED)))
+                    .thenReturn(Optional.of(newStatus(CheckoutStep.COMPLETED)));
+            when(checkoutStatusRepository.advanceStep(eq(orderId), any(), eq(CheckoutStep.COMPLETED), any(Instant.class)))
+                    .thenReturn(1);
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                // Act
+                checkoutStatusService.recordStep(orderId, CheckoutStep.COMPLETED);
+                checkoutStatusService.findStatus(orderId); // a poll before commit still reads the old step
+                TransactionSynchronizationManager.getSynchronizations()
+                        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            Optional<CheckoutStatusResponse> result = checkoutStatusService.findStatus(orderId);
+
+            // Assert
+            assertThat(result).map(CheckoutStatusResponse::status).hasValue("COMPLETED");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.dto.event.CheckoutStatusChangedEvent;
+import com.mazadak.orders.dto.internal.CheckoutStatusResponse;
+import com.mazadak.orders.model.entity.CheckoutStatus;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+import com.mazadak.orders.repository.CheckoutStatusRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CheckoutStatusStreamService Tests")
+class CheckoutStatusStreamServiceImplTest {
+
+    @Mock
+    private CheckoutStatusRepository checkoutStatusRepository;
+
+    private CheckoutStatusStreamServiceImpl streamService;
+
+    @BeforeEach
+    void setUp() {
+        streamService = new CheckoutStatusStreamServiceImpl(checkoutStatusRepository, Duration.ofMinutes(1));
+    }
+
+    private CheckoutStatus newStatus(UUID orderId, CheckoutStep step) {
+        return new CheckoutStatus(orderId, "fixed-price-checkout-" + orderId, step, Instant.now());
+    }
+
+    private CheckoutStatusResponse running(CheckoutStep step) {
+        return new CheckoutStatusResponse("RUNNING", null, null, step);
+    }
+
+    @Nested
+    @DisplayName("Subscription Tests")
+    class SubscriptionTests {
+
+        @Test
+        @DisplayName("Should not keep a subscription for an already finished checkout")
+        void shouldNotSubscribeToFinishedCheckout() {
+            // Act
+            streamService.subscribe(UUID.randomUUID(), new CheckoutStatusResponse("COMPLETED", null, null, CheckoutStep.COMPLETED));
+
+            // Assert
+            assertThat(streamService.subscribedOrderCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should drop the subscription once a final step is pushed")
+        void shouldDropSubscriptionOnFinalStep() {
+            // Arrange
+            UUID orderId = UUID.randomUUID();
+            streamService.subscribe(orderId, running(CheckoutStep.PAYMENT_CAPTURED));
+            when(checkoutStatusRepository.findById(orderId)).thenReturn(Optional.of(newStatus(orderId, CheckoutStep.COMPLETED)));
+
+            // Act
+            streamService.onCheckoutStatusChanged(new CheckoutStatusChangedEvent(orderId));
+
+            // Assert
+            assertThat(streamService.subscribedOrderCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not move subscribers back to an older step delivered late")
+        void shouldNotPushOlderStepAfterNewerOne() {
+            // Arrange
+            UUID orderId = UUID.randomUUID();
+            streamService.subscribe(orderId, running(CheckoutStep.ADDRESS_RECEIVED));
+            when(checkoutStatusRepository.findAllById(Set.of(orderId)))
+                    .thenReturn(List.of(newStatus(orderId, CheckoutStep.PAYMENT_AUTHORIZED)));
+            when(checkoutStatusRepository.findById(orderId))
+                    .thenReturn(Optional.of(newStatus(orderId, CheckoutStep.INTENT_CREATED)));
+
+            // Act
+            streamService.sweepSubscribedOrders();
+            streamService.onCheckoutStatusChanged(new CheckoutStatusChangedEvent(orderId));
+
+            // Assert
+            assertThat(streamService.lastSentStep(orderId)).isEqualTo(CheckoutStep.PAYMENT_AUTHORIZED);
+        }
+
+        @Test
+        @DisplayName("Should ignore changes to orders nobody is subscribed to")
+        void shouldIgnoreUnsubscribedOrders() {
+            // Act
+            streamService.onCheckoutStatusChanged(new CheckoutStatusChangedEvent(UUID.randomUUID()));
+
+            // Assert
+            verifyNoInteractions(checkoutStatusRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sweep Tests")
+    class SweepTests {
+
+        @Test
+        @DisplayName("Should read all subscribed orders with a single query")
+        @SuppressWarnings("unchecked")
+        void shouldSweepSubscribedOrdersInOneQuery() {
+            // Arrange
+            UUID firstOrderId = UUID.randomUUID();
+            UUID secondOrderId = UUID.randomUUID();
+            streamService.subscribe(firstOrderId, running(CheckoutStep.ORDER_CREATED));
+            streamService.subscribe(secondOrderId, running(CheckoutStep.INTENT_CREATED));
+            when(checkoutStatusRepository.findAllById(any(Iterable.class))).thenReturn(List.of(
+                    newStatus(firstOrderId, CheckoutStep.INTENT_CREATED),
+                    newStatus(secondOrderId, CheckoutStep.FAILED)
+            ));
+
+            // Act
+            streamService.sweepSubscribedOrders();
+
+            // Assert
+            verify(checkoutStatusRepository, times(1)).findAllById(Set.of(firstOrderId, secondOrderId));
+            assertThat(streamService.subscribedOrderCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should not query when nobody is subscribed")
+        void shouldNotQueryWithoutSubscribers() {
+            // Act
+            streamService.sweepSubscribedOrders();
+
+            // Assert
+            verifyNoInteractions(checkoutStatusRepository);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.dto.event.OrderCacheInvalidatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderCacheInvalidationService Tests")
+class OrderCacheInvalidationServiceImplTest {
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private OrderCacheInvalidationServiceImpl invalidationService;
+
+    @BeforeEach
+    void setUp() {
+        invalidationService = new OrderCacheInvalidationServiceImpl(eventPublisher, "orders:test", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should broadcast distinct ids in bounded batches")
+    void shouldBroadcastDistinctIdsInBatches() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        invalidationService.broadcast(first);
+        invalidationService.broadcast(first);
+        invalidationService.broadcast(second);
+        invalidationService.broadcast(third);
+
+        // Act
+        invalidationService.flush();
+        invalidationService.flush();
+
+        // Assert
+        ArgumentCaptor<OrderCacheInvalidatedEvent> events = ArgumentCaptor.forClass(OrderCacheInvalidatedEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertThat(events.getAllValues())
+                .allSatisfy(event -> assertThat(event.getOriginService()).isEqualTo("orders:test"))
+                .flatMap(OrderCacheInvalidatedEvent::getOrderIds)
+                .containsExactlyInAnyOrder(first, second, third);
+    }
+
+    @Test
+    @DisplayName("Should only queue ids changed in a transaction once it commits")
+    void shouldQueueTransactionalIdsAfterCommit() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+        invalidationService.broadcast(orderId);
+
+        // Act
+        invalidationService.flush();
+        verifyNoInteractions(eventPublisher);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        invalidationService.flush();
+
+        // Assert
+        ArgumentCaptor<OrderCacheInvalidatedEvent> event = ArgumentCaptor.forClass(OrderCacheInvalidatedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().getOrderIds()).containsExactly(orderId);
+    }
+}
@@ -0,0 +1,108 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.dto.response.OrderResponse;
+import com.mazadak.orders.model.enumeration.OrderStatus;
+import com.mazadak.orders.model.enumeration.OrderType;
+import com.mazadak.orders.model.enumeration.PaymentStatus;
+import com.mazadak.orders.service.OrderCacheInvalidationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("OrderCacheService Tests")
+class OrderCacheServiceImplTest {
+
+    private final OrderCacheInvalidationService invalidationService = mock(OrderCacheInvalidationService.class);
+    private SimpleMeterRegistry meterRegistry;
+    private OrderCacheServiceImpl orderCacheService;
+    private UUID orderId;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // in-flight orders expire immediately, so only terminal orders are served from the cache
+        orderCacheService = new OrderCacheServiceImpl(
+                invalidationService, meterRegistry, 100, Duration.ofHours(1), Duration.ZERO);
+        orderId = UUID.randomUUID();
+        loads = new AtomicInteger();
+    }
+
+    private Function<UUID, OrderResponse> loaderReturning(OrderStatus status) {
+        return id -> {
+            loads.incrementAndGet();
+            return new OrderResponse(
+                    id, UUID.randomUUID(), OrderType.FIXED_PRICE, BigDecimal.TEN, status, null,
+                    PaymentStatus.PENDING, List.of(), null, null, null, null, Instant.now()
+            );
+        };
+    }
+
+    @Test
+    @DisplayName("Should keep terminal orders and record hits and misses")
+    void shouldKeepTerminalOrders() {
+        // Act
+        orderCacheService.get(orderId, loaderReturning(OrderStatus.COMPLETED));
+        orderCacheService.get(orderId, loaderReturning(OrderStatus.COMPLETED));
+
+        // Assert
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", OrderCacheServiceImpl.CACHE_NAME, "result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tags("cache", OrderCacheServiceImpl.CACHE_NAME, "result", "miss")
+                .functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should expire in-flight orders on their own TTL")
+    void shouldExpireInFlightOrders() {
+        // Act
+        orderCacheService.get(orderId, loaderReturning(OrderStatus.PENDING));
+        orderCacheService.get(orderId, loaderReturning(OrderStatus.PENDING));
+
+        // Assert
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should reload an invalidated order")
+    void shouldReloadInvalidatedOrder() {
+        // Arrange
+        orderCacheService.get(orderId, loaderReturning(OrderStatus.CANCELLED));
+
+        // Act
+        orderCacheService.invalidate(orderId);
+        orderCacheService.get(orderId, loaderReturning(OrderStatus.CANCELLED));
+
+        // Assert
+        assertThat(loads).hasValue(2);
+        verify(invalidationService).broadcast(orderId);
+    }
+
+    @Test
+    @DisplayName("Should evict orders invalidated by another replica")
+    void shouldEvictRemotelyInvalidatedOrders() {
+        // Arrange
+        orderCacheService.get(orderId, loaderReturning(OrderStatus.COMPLETED));
+
+        // Act
+        orderCacheService.evictLocally(List.of(orderId));
+        orderCacheService.get(orderId, loaderReturning(OrderStatus.COMPLETED));
+
+        // Assert
+        assertThat(loads).hasValue(2);
+    }
+}
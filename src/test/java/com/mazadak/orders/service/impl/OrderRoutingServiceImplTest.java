@@ -0,0 +1,69 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.common.exception.shared.ResourceNotFoundException;
+import com.mazadak.orders.dto.internal.OrderRoute;
+import com.mazadak.orders.model.enumeration.OrderType;
+import com.mazadak.orders.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderRoutingService Tests")
+class OrderRoutingServiceImplTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OrderRoutingServiceImpl orderRoutingService;
+
+    private UUID orderId;
+
+    @BeforeEach
+    void setUp() {
+        orderRoutingService = new OrderRoutingServiceImpl(orderRepository, 100, Duration.ofMinutes(1));
+        orderId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        OrderRoute route = new OrderRoute(
+                "fixed-price-checkout-" + UUID.randomUUID(), OrderType.FIXED_PRICE, UUID.randomUUID());
+        when(orderRepository.findRouteById(orderId)).thenReturn(Optional.of(route));
+
+        // Act
+        orderRoutingService.getRoute(orderId);
+        OrderRoute result = orderRoutingService.getRoute(orderId);
+
+        // Assert
+        assertThat(result).isEqualTo(route);
+        verify(orderRepository, times(1)).findRouteById(orderId);
+    }
+
+    @Test
+    @DisplayName("Should throw and not cache when the order is missing")
+    void shouldThrowWhenOrderMissing() {
+        // Arrange
+        when(orderRepository.findRouteById(orderId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderRoutingService.getRoute(orderId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> orderRoutingService.getRoute(orderId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(orderRepository, times(2)).findRouteById(orderId);
+    }
+}
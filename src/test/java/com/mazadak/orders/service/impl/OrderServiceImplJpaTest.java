@@ -0,0 +1,479 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.dto.client.CartItemResponseDTO;
+import com.mazadak.orders.dto.client.CartResponseDTO;
+import com.mazadak.orders.dto.internal.OrderPatch;
+import com.mazadak.orders.dto.request.CheckoutRequest;
+import com.mazadak.orders.dto.request.OrderFilterDto;
+import com.mazadak.orders.dto.response.OrderResponse;
+import com.mazadak.orders.dto.response.ProductResponseDTO;
+import com.mazadak.orders.model.entity.Address;
+import com.mazadak.orders.model.entity.Order;
+import com.mazadak.orders.model.entity.OrderItem;
+import com.mazadak.orders.model.enumeration.OrderStatus;
+import com.mazadak.orders.model.enumeration.OrderType;
+import com.mazadak.orders.model.enumeration.PaymentStatus;
+import com.mazadak.orders.repository.OrderRepository;
+import com.mazadak.orders.service.CheckoutIdempotencyService;
+import com.mazadak.orders.service.CheckoutStatusService;
+import com.mazadak.orders.service.OrderCacheService;
+import com.mazadak.orders.service.ProductCatalogService;
+import com.mazadak.orders.workflow.starter.AuctionCheckoutStarter;
+import com.mazadak.orders.workflow.starter.FixedPriceCheckoutStarter;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@ContextConfiguration(classes = OrderServiceImplJpaTest.JpaConfig.class)
+@DisplayName("OrderService JPA Tests")
+class OrderServiceImplJpaTest {
+
+    @EntityScan(basePackageClasses = Order.class)
+    @EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+    @EnableJpaAuditing
+    @Import({OrderServiceImpl.class, OrderRoutingServiceImpl.class})
+    static class JpaConfig {
+    }
+
+    @MockitoBean
+    private ProductCatalogService productCatalogService;
+
+    @MockitoBean
+    private FixedPriceCheckoutStarter fixedPriceCheckoutStarter;
+
+    @MockitoBean
+    private AuctionCheckoutStarter auctionCheckoutStarter;
+
+    @MockitoBean
+    private CheckoutStatusService checkoutStatusService;
+
+    @MockitoBean
+    private OrderCacheService orderCacheService;
+
+    @MockitoBean
+    private CheckoutIdempotencyService checkoutIdempotencyService;
+
+    @Autowired
+    private OrderServiceImpl orderService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private UUID buyerId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        buyerId = UUID.randomUUID();
+    }
+
+    private Order newOrder() {
+        Order order = new Order();
+        order.setBuyerId(buyerId);
+        order.setType(OrderType.FIXED_PRICE);
+        order.setStatus(OrderStatus.PENDING);
+        order.setPaymentStatus(PaymentStatus.PENDING);
+        order.setTotalAmount(BigDecimal.TEN);
+        return order;
+    }
+
+    private OrderItem newItem(Order order, UUID productId, UUID sellerId) {
+        return new OrderItem(productId, sellerId, "Product", BigDecimal.ONE, 1, BigDecimal.ONE, order);
+    }
+
+    private void persistOrders(int count, int itemsPerOrder) {
+        for (int i = 0; i < count; i++) {
+            Order order = newOrder();
+
+            List<OrderItem> items = new ArrayList<>();
+            for (int j = 0; j < itemsPerOrder; j++) {
+                items.add(newItem(order, UUID.randomUUID(), UUID.randomUUID()));
+            }
+            order.setOrderItems(items);
+            entityManager.persist(order);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countStatements(Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Nested
+    @DisplayName("Listing Tests")
+    class ListingTests {
+
+        @Test
+        @DisplayName("Should load a page with a constant number of statements regardless of page size")
+        void shouldLoadPageWithConstantStatementCount() {
+            // Arrange
+            OrderFilterDto filter = new OrderFilterDto(buyerId, null, null, null, null, null, null, null, null);
+            PageRequest pageable = PageRequest.of(0, 100, Sort.by("createdAt"));
+            persistOrders(2, 3);
+
+            // Act
+            long smallPageStatements = countStatements(() -> {
+                Page<OrderResponse> page = orderService.findOrdersByCriteria(filter, pageable);
+                assertThat(page.getContent()).hasSize(2)
+                        .allSatisfy(order -> assertThat(order.orderItems()).hasSize(3));
+            });
+            entityManager.clear();
+
+            persistOrders(48, 3);
+            long largePageStatements = countStatements(() -> {
+                Page<OrderResponse> page = orderService.findOrdersByCriteria(filter, pageable);
+                assertThat(page.getContent()).hasSize(50)
+                        .allSatisfy(order -> assertThat(order.orderItems()).hasSize(3));
+            });
+
+            // Assert
+            assertThat(largePageStatements).isEqualTo(smallPageStatements);
+            assertThat(largePageStatements).isLessThanOrEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Should load a keyset slice with a constant number of statements")
+        void shouldLoadKeysetSliceWithConstantStatementCount() {
+            // Arrange
+            OrderFilterDto filter = new OrderFilterDto(buyerId, null, null, null, null, null, null, null, null);
+            persistOrders(50, 2);
+
+            // Act
+            long statements = countStatements(() ->
+                    assertThat(orderService.scrollOrdersByCriteria(filter, null, 50, Sort.Direction.ASC).content())
+                            .hasSize(50)
+                            .allSatisfy(order -> assertThat(order.orderItems()).hasSize(2))
+            );
+
+            // Assert
+            assertThat(statements).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Item Filter Tests")
+    class ItemFilterTests {
+
+        private UUID sellerId;
+        private UUID productId;
+
+        @BeforeEach
+        void setUp() {
+            sellerId = UUID.randomUUID();
+            productId = UUID.randomUUID();
+
+            Order severalMatches = newOrder();
+            severalMatches.setOrderItems(List.of(
+                    newItem(severalMatches, productId, sellerId),
+                    newItem(severalMatches, UUID.randomUUID(), sellerId),
+                    newItem(severalMatches, UUID.randomUUID(), sellerId)
+            ));
+
+            Order oneMatch = newOrder();
+            oneMatch.setOrderItems(List.of(
+                    newItem(oneMatch, UUID.randomUUID(), sellerId),
+                    newItem(oneMatch, UUID.randomUUID(), UUID.randomUUID())
+            ));
+
+            Order noMatch = newOrder();
+            noMatch.setOrderItems(List.of(newItem(noMatch, UUID.randomUUID(), UUID.randomUUID())));
+
+            entityManager.persist(severalMatches);
+            entityManager.persist(oneMatch);
+            entityManager.persist(noMatch);
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        @Test
+        @DisplayName("Should return each order once when several of its items match the seller filter")
+        void shouldReturnEachOrderOnceForSellerFilter() {
+            // Arrange
+            OrderFilterDto filter = new OrderFilterDto(null, List.of(sellerId), null, null, null, null, null, null, null);
+
+            // Act
+            Page<OrderResponse> page = orderService.findOrdersByCriteria(filter, PageRequest.of(0, 1, Sort.by("createdAt")));
+
+            // Assert
+            assertThat(page.getTotalElements()).isEqualTo(2);
+            assertThat(page.getContent()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Should combine seller and product filters")
+        void shouldCombineSellerAndProductFilters() {
+            // Arrange
+            OrderFilterDto filter = new OrderFilterDto(null, List.of(sellerId), null, null, null, null,
+                    List.of(productId), null, null);
+
+            // Act
+            Page<OrderResponse> page = orderService.findOrdersByCriteria(filter, PageRequest.of(0, 10));
+
+            // Assert
+            assertThat(page.getContent()).singleElement()
+                    .satisfies(order -> assertThat(order.orderItems()).hasSize(3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional Update Tests")
+    class ConditionalUpdateTests {
+
+        private UUID orderId;
+
+        @BeforeEach
+        void setUp() {
+            Order order = newOrder();
+            entityManager.persist(order);
+            entityManager.flush();
+            entityManager.clear();
+            orderId = order.getId();
+        }
+
+        @Test
+        @DisplayName("Should apply each transition with a single update statement")
+        void shouldApplyTransitionWithSingleStatement() {
+            // Act
+            long statements = countStatements(() -> assertThat(orderService.markCompleted(orderId)).isTrue());
+
+            // Assert
+            assertThat(statements).isEqualTo(1);
+            assertThat(entityManager.find(Order.class, orderId).getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("Should not leave a terminal status")
+        void shouldNotLeaveTerminalStatus() {
+            // Arrange
+            orderService.markCompleted(orderId);
+
+            // Act
+            boolean applied = orderService.markCancelled(orderId);
+
+            // Assert
+            assertThat(applied).isFalse();
+            assertThat(entityManager.find(Order.class, orderId).getStatus()).isEqualTo(OrderStatus.COMPLETED);
+        }
+
+        @Test
+        @DisplayName("Should follow the payment status state machine")
+        void shouldFollowPaymentStatusStateMachine() {
+            // Act & Assert
+            assertThat(orderService.setPaymentStatus(orderId, PaymentStatus.CAPTURED)).isFalse();
+            assertThat(orderService.setPaymentStatus(orderId, PaymentStatus.AUTHORIZED)).isTrue();
+            assertThat(orderService.setPaymentStatus(orderId, PaymentStatus.AUTHORIZED)).isFalse();
+            assertThat(orderService.setPaymentStatus(orderId, PaymentStatus.CAPTURED)).isTrue();
+            assertThat(entityManager.find(Order.class, orderId).getPaymentStatus()).isEqualTo(PaymentStatus.CAPTURED);
+        }
+
+        @Test
+        @DisplayName("Should write checkout details only while the order is open")
+        void shouldWriteCheckoutDetailsOnlyWhileOpen() {
+            // Arrange
+            Address address = new Address("Street", "Cairo", "Cairo", "12345", "Egypt");
+
+            // Act
+            boolean addressApplied = orderService.setAddress(orderId, address);
+            boolean intentApplied = orderService.setPaymentIntentId(orderId, "pi_1");
+            orderService.markFailed(orderId);
+            boolean secretApplied = orderService.setClientSecret(orderId, "secret");
+
+            // Assert
+            Order order = entityManager.find(Order.class, orderId);
+            assertThat(addressApplied).isTrue();
+            assertThat(intentApplied).isTrue();
+            assertThat(secretApplied).isFalse();
+            assertThat(order.getShippingAddress().getCity()).isEqualTo("Cairo");
+            assertThat(order.getPaymentIntentId()).isEqualTo("pi_1");
+            assertThat(order.getClientSecret()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should apply a patch only when every change is allowed")
+        void shouldApplyPatchAllOrNothing() {
+            // Arrange
+            OrderPatch refused = new OrderPatch(null, "pi_1", "secret", PaymentStatus.CAPTURED, null);
+            OrderPatch allowed = new OrderPatch(null, "pi_2", "secret", PaymentStatus.AUTHORIZED, null);
+
+            // Act
+            boolean refusedApplied = orderService.applyPatch(orderId, refused);
+            entityManager.clear();
+            Order afterRefused = entityManager.find(Order.class, orderId);
+            boolean allowedApplied = orderService.applyPatch(orderId, allowed);
+            entityManager.clear();
+            Order afterAllowed = entityManager.find(Order.class, orderId);
+
+            // Assert
+            assertThat(refusedApplied).isFalse();
+            assertThat(afterRefused.getPaymentIntentId()).isNull();
+            assertThat(afterRefused.getPaymentStatus()).isEqualTo(PaymentStatus.PENDING);
+            assertThat(allowedApplied).isTrue();
+            assertThat(afterAllowed.getPaymentIntentId()).isEqualTo("pi_2");
+            assertThat(afterAllowed.getPaymentStatus()).isEqualTo(PaymentStatus.AUTHORIZED);
+        }
+    }
+
+    @Nested
+    @DisplayName("Routing Tests")
+    class RoutingTests {
+
+        @Test
+        @DisplayName("Should route with a single projection query")
+        void shouldRouteWithSingleProjectionQuery() {
+            // Arrange
+            Order order = newOrder();
+            order.setWorkflowId("fixed-price-checkout-stored");
+            entityManager.persist(order);
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act
+            long statements = countStatements(() -> assertThat(orderService.getWorkflowIdByOrderId(order.getId()))
+                    .isEqualTo("fixed-price-checkout-stored"));
+
+            // Assert
+            assertThat(statements).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should check ownership and route a request with one narrow read")
+        void shouldCheckOwnershipAndRouteWithOneRead() {
+            // Arrange
+            Order order = newOrder();
+            entityManager.persist(order);
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act
+            long statements = countStatements(() -> {
+                orderService.assertOrderBelongsToBuyer(order.getId(), buyerId);
+                orderService.getWorkflowIdByOrderId(order.getId());
+            });
+
+            // Assert
+            assertThat(statements).isEqualTo(1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should derive the workflow ID of orders created before it was persisted")
+        void shouldDeriveWorkflowIdOfLegacyOrders() {
+            // Arrange
+            UUID idempotencyKey = UUID.randomUUID();
+            Order order = newOrder();
+            order.setIdempotencyKey(idempotencyKey);
+            entityManager.persist(order);
+            entityManager.flush();
+            entityManager.clear();
+
+            // Act
+            String workflowId = orderService.getWorkflowIdByOrderId(order.getId());
+
+            // Assert
+            assertThat(workflowId).isEqualTo("fixed-price-checkout-" + idempotencyKey);
+        }
+    }
+
+    @Nested
+    @DisplayName("Id Generation Tests")
+    class IdGenerationTests {
+
+        @Test
+        @DisplayName("Should assign time-ordered ids to orders and their items")
+        void shouldAssignTimeOrderedIds() {
+            // Arrange
+            Order first = newOrder();
+            first.setOrderItems(List.of(newItem(first, UUID.randomUUID(), UUID.randomUUID())));
+            Order second = newOrder();
+
+            // Act
+            entityManager.persist(first);
+            entityManager.persist(second);
+            entityManager.flush();
+
+            // Assert
+            assertThat(first.getId().version()).isEqualTo(7);
+            assertThat(first.getOrderItems().getFirst().getId().version()).isEqualTo(7);
+            assertThat(Long.compareUnsigned(
+                    first.getId().getMostSignificantBits(), second.getId().getMostSignificantBits())).isNegative();
+        }
+    }
+
+    @Nested
+    @DisplayName("Order Creation Tests")
+    class OrderCreationTests {
+
+        private Map<UUID, ProductResponseDTO> products(CartResponseDTO cart) {
+            return cart.cartItems().stream()
+                    .map(item -> new ProductResponseDTO(item.productId(), UUID.randomUUID(), "Product", null, BigDecimal.ONE, 1L))
+                    .collect(Collectors.toMap(ProductResponseDTO::productId, Function.identity()));
+        }
+
+        private long countCreationStatements(int items) {
+            List<CartItemResponseDTO> cartItems = IntStream.range(0, items)
+                    .mapToObj(i -> new CartItemResponseDTO(UUID.randomUUID(), UUID.randomUUID(), 1))
+                    .toList();
+            CartResponseDTO cart = new CartResponseDTO(UUID.randomUUID(), buyerId, cartItems);
+            when(productCatalogService.getProducts(anyList())).thenReturn(products(cart));
+            CheckoutRequest request = new CheckoutRequest(buyerId, new Address("Street", "Cairo", "Cairo", "12345", "Egypt"));
+
+            return countStatements(() -> {
+                orderService.createFixedPriceOrder(request, cart, UUID.randomUUID());
+                entityManager.flush();
+            });
+        }
+
+        @Test
+        @DisplayName("Should insert a large cart with batched statements")
+        void shouldInsertLargeCartWithBatchedStatements() {
+            // Act
+            long smallCart = countCreationStatements(10);
+            long largeCart = countCreationStatements(100);
+
+            // Assert
+            assertThat(largeCart).isEqualTo(smallCart).isLessThanOrEqualTo(3);
+            assertThat(statistics.getEntityInsertCount()).isEqualTo(101);
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package com.mazadak.orders.service.impl;
 
-import com.mazadak.orders.client.ProductClient;
 import com.mazadak.orders.dto.client.AuctionResponse;
 import com.mazadak.orders.dto.client.CartItemResponseDTO;
 import com.mazadak.orders.dto.client.CartResponseDTO;
 import com.mazadak.orders.dto.internal.AuctionCheckoutRequest;
+import com.mazadak.orders.dto.internal.OrderCursor;
+import com.mazadak.orders.dto.internal.OrderPatch;
+import com.mazadak.orders.dto.internal.OrderRoute;
 import com.mazadak.orders.dto.request.CheckoutRequest;
 import com.mazadak.orders.dto.request.OrderFilterDto;
+import com.mazadak.orders.dto.response.CursorPageResponse;
 import com.mazadak.orders.dto.response.OrderResponse;
 import com.mazadak.orders.dto.response.ProductResponseDTO;
 import com.mazadak.orders.exception.AmountTooLargeException;
+import com.mazadak.orders.exception.InvalidCursorException;
+import com.mazadak.orders.exception.StaleProductSnapshotException;
+import com.mazadak.orders.mapper.OrderMapper;
 import com.mazadak.orders.model.entity.Address;
 import com.mazadak.orders.model.entity.Order;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
 import com.mazadak.orders.model.enumeration.OrderStatus;
 import com.mazadak.orders.model.enumeration.OrderType;
 import com.mazadak.orders.model.enumeration.PaymentStatus;
 import com.mazadak.orders.repository.OrderItemRepository;
 import com.mazadak.orders.repository.OrderRepository;
+import com.mazadak.orders.service.CheckoutIdempotencyService;
+import com.mazadak.orders.service.CheckoutStatusService;
+import com.mazadak.orders.service.OrderCacheService;
+import com.mazadak.orders.service.OrderRoutingService;
+import com.mazadak.orders.service.ProductCatalogService;
 import com.mazadak.orders.workflow.starter.AuctionCheckoutStarter;
 import com.mazadak.orders.workflow.starter.FixedPriceCheckoutStarter;
 import io.temporal.api.common.v1.WorkflowExecution;
@@ -33,21 +45,27 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.server.ResponseStatusException;
 import com.mazadak.common.exception.shared.ResourceNotFoundException;
 
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
@@ -59,7 +77,7 @@ class OrderServiceImplTest {
     private OrderRepository orderRepository;
 
     @Mock
-    private ProductClient productClient;
+    private ProductCatalogService productCatalogService;
 
     @Mock
     private FixedPriceCheckoutStarter fixedPriceCheckoutStarter;
@@ -70,6 +88,18 @@ class OrderServiceImplTest {
     @Mock
     private OrderItemRepository orderItemRepository;
 
+    @Mock
+    private CheckoutStatusService checkoutStatusService;
+
+    @Mock
+    private OrderRoutingService orderRoutingService;
+
+    @Mock
+    private OrderCacheService orderCacheService;
+
+    @Mock
+    private CheckoutIdempotencyService checkoutIdempotencyService;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -112,6 +142,12 @@ class OrderServiceImplTest {
     @DisplayName("GetOrderById Tests")
     class GetOrderByIdTests {
 
+        @BeforeEach
+        void setUp() {
+            when(orderCacheService.get(eq(orderId), any())).thenAnswer(invocation ->
+                    invocation.<Function<UUID, OrderResponse>>getArgument(1).apply(orderId));
+        }
+
         @Test
         @DisplayName("Should return order when found")
         void shouldReturnOrderWhenFound() {
@@ -187,6 +223,77 @@ class OrderServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("ScrollOrdersByCriteria Tests")
+    class ScrollOrdersByCriteriaTests {
+
+        private Order orderCreatedAt(Instant createdAt) {
+            Order o = new Order();
+            o.setId(UUID.randomUUID());
+            o.setBuyerId(userId);
+            o.setCreatedAt(createdAt);
+            o.setOrderItems(new ArrayList<>());
+            return o;
+        }
+
+        @Test
+        @DisplayName("Should return next cursor pointing at last row when more rows exist")
+        void shouldReturnNextCursorWhenMoreRowsExist() {
+            // Arrange
+            OrderFilterDto filter = new OrderFilterDto(userId, null, null, null, null, null, null, null, null);
+            Instant now = Instant.parse("2025-01-01T10:00:00.123456Z");
+            Order first = orderCreatedAt(now);
+            Order second = orderCreatedAt(now.plusSeconds(1));
+            Order extra = orderCreatedAt(now.plusSeconds(2));
+
+            when(orderRepository.findBy(any(Specification.class), any()))
+                    .thenReturn(List.of(first, second, extra));
+
+            // Act
+            CursorPageResponse<OrderResponse> result =
+                    orderService.scrollOrdersByCriteria(filter, null, 2, Sort.Direction.ASC);
+
+            // Assert
+            assertThat(result.content()).extracting(OrderResponse::id)
+                    .containsExactly(first.getId(), second.getId());
+            assertThat(result.hasNext()).isTrue();
+            assertThat(OrderCursor.decode(result.nextCursor()))
+                    .isEqualTo(new OrderCursor(second.getCreatedAt(), second.getId()));
+            verify(orderRepository, never()).count(any(Specification.class));
+        }
+
+        @Test
+        @DisplayName("Should not return cursor on last slice")
+        void shouldNotReturnCursorOnLastSlice() {
+            // Arrange
+            OrderFilterDto filter = new OrderFilterDto(userId, null, null, null, null, null, null, null, null);
+            String cursor = new OrderCursor(Instant.now(), UUID.randomUUID()).encode();
+
+            when(orderRepository.findBy(any(Specification.class), any()))
+                    .thenReturn(List.of(orderCreatedAt(Instant.now())));
+
+            // Act
+            CursorPageResponse<OrderResponse> result =
+                    orderService.scrollOrdersByCriteria(filter, cursor, 2, Sort.Direction.DESC);
+
+            // Assert
+            assertThat(result.content()).hasSize(1);
+            assertThat(result.hasNext()).isFalse();
+            assertThat(result.nextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            // Arrange
+            OrderFilterDto filter = new OrderFilterDto(userId, null, null, null, null, null, null, null, null);
+
+            // Act & Assert
+            assertThatThrownBy(() -> orderService.scrollOrdersByCriteria(filter, "not-a-cursor", 2, Sort.Direction.ASC))
+                    .isInstanceOf(InvalidCursorException.class);
+        }
+    }
+
     @Nested
     @DisplayName("Checkout Tests")
     class CheckoutTests {
@@ -201,6 +308,8 @@ class OrderServiceImplTest {
                     .setRunId("run-123")
                     .build();
 
+            when(checkoutIdempotencyService.getOrStart(eq(idempotencyKey), eq(userId), any()))
+                    .thenAnswer(invocation -> invocation.<Supplier<WorkflowExecution>>getArgument(2).get());
             when(fixedPriceCheckoutStarter.startFixedPriceCheckout(idempotencyKey, request))
                     .thenReturn(execution);
 
@@ -212,6 +321,22 @@ class OrderServiceImplTest {
             assertThat(result.getWorkflowId()).isEqualTo("workflow-123");
             verify(fixedPriceCheckoutStarter).startFixedPriceCheckout(idempotencyKey, request);
         }
+
+        @Test
+        @DisplayName("Should return the reserved order for a synchronous checkout")
+        void shouldReturnReservedOrderForSynchronousCheckout() {
+            // Arrange
+            CheckoutRequest request = new CheckoutRequest(userId, address);
+            OrderResponse reserved = OrderMapper.toResponse(order);
+            when(fixedPriceCheckoutStarter.startFixedPriceCheckoutAndAwaitOrder(idempotencyKey, request))
+                    .thenReturn(reserved);
+
+            // Act
+            OrderResponse result = orderService.checkoutAndAwaitOrder(idempotencyKey, request);
+
+            // Assert
+            assertThat(result.id()).isEqualTo(orderId);
+        }
     }
 
     @Nested
@@ -219,55 +344,75 @@ class OrderServiceImplTest {
     class OrderStatusManagementTests {
 
         @Test
-        @DisplayName("Should mark order as completed")
+        @DisplayName("Should mark order as completed from an open status")
         void shouldMarkOrderAsCompleted() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.transitionStatus(eq(orderId), eq(EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED)),
+                    eq(OrderStatus.COMPLETED), any(Instant.class))).thenReturn(1);
 
             // Act
-            orderService.markCompleted(orderId);
+            boolean applied = orderService.markCompleted(orderId);
 
             // Assert
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.COMPLETED);
-            verify(orderRepository).save(order);
+            assertThat(applied).isTrue();
+            verify(orderRepository, never()).findById(any());
+            verify(orderRepository, never()).save(any());
+            verify(checkoutStatusService).recordStep(orderId, CheckoutStep.COMPLETED);
+            verify(orderCacheService).invalidate(orderId);
         }
 
         @Test
-        @DisplayName("Should mark order as failed")
+        @DisplayName("Should mark order as failed, including after cancellation")
         void shouldMarkOrderAsFailed() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.transitionStatus(eq(orderId),
+                    eq(EnumSet.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.CANCELLED)),
+                    eq(OrderStatus.FAILED), any(Instant.class))).thenReturn(1);
 
             // Act
-            orderService.markFailed(orderId);
+            boolean applied = orderService.markFailed(orderId);
 
             // Assert
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.FAILED);
-            verify(orderRepository).save(order);
+            assertThat(applied).isTrue();
         }
 
         @Test
         @DisplayName("Should mark order as cancelled")
         void shouldMarkOrderAsCancelled() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.CANCELLED), any(Instant.class)))
+                    .thenReturn(1);
+
+            // Act
+            boolean applied = orderService.markCancelled(orderId);
+
+            // Assert
+            assertThat(applied).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should report transition as not applied when current status does not allow it")
+        void shouldReportTransitionNotApplied() {
+            // Arrange
+            when(orderRepository.transitionStatus(eq(orderId), anyCollection(), eq(OrderStatus.CANCELLED), any(Instant.class)))
+                    .thenReturn(0);
+            when(orderRepository.existsById(orderId)).thenReturn(true);
 
             // Act
-            orderService.markCancelled(orderId);
+            boolean applied = orderService.markCancelled(orderId);
 
             // Assert
-            assertThat(order.getStatus()).isEqualTo(OrderStatus.CANCELLED);
-            verify(orderRepository).save(order);
+            assertThat(applied).isFalse();
+            verify(checkoutStatusService, never()).recordStep(any(), any());
+            verify(orderCacheService, never()).invalidate(any());
         }
 
         @Test
         @DisplayName("Should throw exception when marking status on non-existent order")
         void shouldThrowExceptionWhenMarkingStatusOnNonExistentOrder() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(orderRepository.transitionStatus(eq(orderId), anyCollection(), any(), any(Instant.class))).thenReturn(0);
+            when(orderRepository.existsById(orderId)).thenReturn(false);
 
             // Act & Assert
             assertThatThrownBy(() -> orderService.markCompleted(orderId))
@@ -321,6 +466,8 @@ class OrderServiceImplTest {
             assertThat(capturedOrder.getStatus()).isEqualTo(OrderStatus.PENDING);
             assertThat(capturedOrder.getAuctionId()).isEqualTo(auctionId);
             assertThat(capturedOrder.getOrderItems()).hasSize(1);
+            assertThat(capturedOrder.getWorkflowId()).isEqualTo("auction-checkout-" + auctionId);
+            verify(checkoutStatusService).recordCreated(eq(orderId), any());
         }
     }
 
@@ -329,25 +476,25 @@ class OrderServiceImplTest {
     class SetAddressTests {
 
         @Test
-        @DisplayName("Should set shipping address on order")
+        @DisplayName("Should set shipping address on open order")
         void shouldSetShippingAddressOnOrder() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.updateShippingAddress(eq(orderId), eq(address.getStreet()), eq(address.getCity()),
+                    eq(address.getState()), eq(address.getPostalCode()), eq(address.getCountry()),
+                    eq(OrderStatus.openStatuses()), any(Instant.class))).thenReturn(1);
 
             // Act
-            orderService.setAddress(orderId, address);
+            boolean applied = orderService.setAddress(orderId, address);
 
             // Assert
-            assertThat(order.getShippingAddress()).isEqualTo(address);
-            verify(orderRepository).save(order);
+            assertThat(applied).isTrue();
         }
 
         @Test
         @DisplayName("Should throw exception when order not found")
         void shouldThrowExceptionWhenOrderNotFound() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(orderRepository.existsById(orderId)).thenReturn(false);
 
             // Act & Assert
             assertThatThrownBy(() -> orderService.setAddress(orderId, address))
@@ -364,30 +511,90 @@ class OrderServiceImplTest {
         void shouldSetPaymentIntentId() {
             // Arrange
             String paymentIntentId = "123456";
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.updatePaymentIntentId(eq(orderId), eq(paymentIntentId),
+                    eq(OrderStatus.openStatuses()), any(Instant.class))).thenReturn(1);
 
             // Act
-            orderService.setPaymentIntentId(orderId, paymentIntentId);
+            boolean applied = orderService.setPaymentIntentId(orderId, paymentIntentId);
 
             // Assert
-            assertThat(order.getPaymentIntentId()).isEqualTo(paymentIntentId);
-            verify(orderRepository).save(order);
+            assertThat(applied).isTrue();
         }
 
         @Test
         @DisplayName("Should set payment status")
         void shouldSetPaymentStatus() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.transitionPaymentStatus(eq(orderId), eq(EnumSet.of(PaymentStatus.PENDING)),
+                    eq(PaymentStatus.AUTHORIZED), any(Instant.class))).thenReturn(1);
+
+            // Act
+            boolean applied = orderService.setPaymentStatus(orderId, PaymentStatus.AUTHORIZED);
+
+            // Assert
+            assertThat(applied).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should not capture payment that was never authorized")
+        void shouldNotCapturePaymentThatWasNeverAuthorized() {
+            // Arrange
+            when(orderRepository.transitionPaymentStatus(eq(orderId), eq(EnumSet.of(PaymentStatus.AUTHORIZED)),
+                    eq(PaymentStatus.CAPTURED), any(Instant.class))).thenReturn(0);
+            when(orderRepository.existsById(orderId)).thenReturn(true);
+
+            // Act
+            boolean applied = orderService.setPaymentStatus(orderId, PaymentStatus.CAPTURED);
+
+            // Assert
+            assertThat(applied).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should apply only the fields present in a patch")
+        void shouldApplyOnlyPresentPatchFields() {
+            // Arrange
+            when(orderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(order));
+            when(orderRepository.updatePaymentIntentId(eq(orderId), eq("pi_1"), anyCollection(), any(Instant.class)))
+                    .thenReturn(1);
+            when(orderRepository.updateClientSecret(eq(orderId), eq("secret"), anyCollection(), any(Instant.class)))
+                    .thenReturn(1);
+
+            // Act
+            boolean applied = orderService.applyPatch(orderId, OrderPatch.paymentIntent("pi_1", "secret"));
+
+            // Assert
+            assertThat(applied).isTrue();
+            verify(orderRepository, never()).transitionPaymentStatus(any(), any(), any(), any());
+            verify(orderRepository, never()).transitionStatus(any(), any(), any(), any());
+            verify(orderRepository, never()).updateShippingAddress(any(), any(), any(), any(), any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should write nothing from a patch with a refused transition")
+        void shouldWriteNothingFromRefusedPatch() {
+            // Arrange
+            when(orderRepository.findByIdForUpdate(orderId)).thenReturn(Optional.of(order));
+            OrderPatch patch = new OrderPatch(null, "pi_1", "secret", PaymentStatus.CAPTURED, null);
+
+            // Act
+            boolean applied = orderService.applyPatch(orderId, patch);
 
+            // Assert
+            assertThat(applied).isFalse();
+            verify(orderRepository, never()).updatePaymentIntentId(any(), any(), any(), any());
+            verify(orderRepository, never()).updateClientSecret(any(), any(), any(), any());
+            verify(orderRepository, never()).transitionPaymentStatus(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should not render the client secret of a patch")
+        void shouldNotRenderPatchClientSecret() {
             // Act
-            orderService.setPaymentStatus(orderId, PaymentStatus.AUTHORIZED);
+            String rendered = OrderPatch.paymentIntent("pi_1", "pi_1_secret_abc").toString();
 
             // Assert
-            assertThat(order.getPaymentStatus()).isEqualTo(PaymentStatus.AUTHORIZED);
-            verify(orderRepository).save(order);
+            assertThat(rendered).contains("pi_1", "clientSecret=[redacted]").doesNotContain("pi_1_secret_abc");
         }
 
         @Test
@@ -395,15 +602,14 @@ class OrderServiceImplTest {
         void shouldSetClientSecret() {
             // Arrange
             String clientSecret = "123456";
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
-            when(orderRepository.save(order)).thenReturn(order);
+            when(orderRepository.updateClientSecret(eq(orderId), eq(clientSecret),
+                    eq(OrderStatus.openStatuses()), any(Instant.class))).thenReturn(1);
 
             // Act
-            orderService.setClientSecret(orderId, clientSecret);
+            boolean applied = orderService.setClientSecret(orderId, clientSecret);
 
             // Assert
-            assertThat(order.getClientSecret()).isEqualTo(clientSecret);
-            verify(orderRepository).save(order);
+            assertThat(applied).isTrue();
         }
     }
 
@@ -430,7 +636,8 @@ class OrderServiceImplTest {
                     sellerId,
                     "Test Product",
                     "Description",
-                    BigDecimal.valueOf(50)
+                    BigDecimal.valueOf(50),
+                    1L
             );
 
             Order savedOrder = new Order();
@@ -438,8 +645,8 @@ class OrderServiceImplTest {
             savedOrder.setBuyerId(userId);
             savedOrder.setTotalAmount(BigDecimal.valueOf(100));
 
-            when(productClient.getProductsByIds(anyList()))
-                    .thenReturn(ResponseEntity.ok(List.of(product)));
+            when(productCatalogService.getProducts(anyList()))
+                    .thenReturn(Map.of(productId, product));
             when(orderRepository.save(any(Order.class))).thenReturn(savedOrder);
 
             // Act
@@ -462,6 +669,43 @@ class OrderServiceImplTest {
             assertThat(capturedOrder.getTotalAmount()).isEqualTo(BigDecimal.valueOf(100));
         }
 
+        @Test
+        @DisplayName("Should return the existing order for a repeated idempotency key")
+        void shouldReturnExistingOrderForRepeatedIdempotencyKey() {
+            // Arrange
+            CheckoutRequest request = new CheckoutRequest(userId, address);
+            CartResponseDTO cart = new CartResponseDTO(UUID.randomUUID(), userId, List.of());
+            order.setIdempotencyKey(idempotencyKey);
+            when(orderRepository.findByIdempotencyKey(idempotencyKey)).thenReturn(Optional.of(order));
+
+            // Act
+            OrderResponse result = orderService.createFixedPriceOrder(request, cart, idempotencyKey);
+
+            // Assert
+            assertThat(result.id()).isEqualTo(orderId);
+            verify(orderRepository, never()).save(any(Order.class));
+            verifyNoInteractions(productCatalogService, checkoutStatusService);
+        }
+
+        @Test
+        @DisplayName("Should not persist an order priced from a stale snapshot")
+        void shouldNotPersistOrderPricedFromStaleSnapshot() {
+            // Arrange
+            CheckoutRequest request = new CheckoutRequest(userId, address);
+            CartResponseDTO cart = new CartResponseDTO(
+                    UUID.randomUUID(), userId, List.of(new CartItemResponseDTO(itemId, productId, 1)));
+            ProductResponseDTO product = new ProductResponseDTO(
+                    productId, sellerId, "Test Product", "Description", BigDecimal.valueOf(50), 1L);
+            when(productCatalogService.getProducts(anyList())).thenReturn(Map.of(productId, product));
+            doThrow(new StaleProductSnapshotException(productId, 1L, 2L))
+                    .when(productCatalogService).assertCurrent(anyCollection());
+
+            // Act & Assert
+            assertThatThrownBy(() -> orderService.createFixedPriceOrder(request, cart, idempotencyKey))
+                    .isInstanceOf(StaleProductSnapshotException.class);
+            verify(orderRepository, never()).save(any(Order.class));
+        }
+
         @Test
         @DisplayName("Should throw exception when product not found")
         void shouldThrowExceptionWhenProductNotFound() {
@@ -477,8 +721,8 @@ class OrderServiceImplTest {
                     List.of(cartItem)
             );
 
-            when(productClient.getProductsByIds(anyList()))
-                    .thenReturn(ResponseEntity.ok(List.of()));
+            when(productCatalogService.getProducts(anyList()))
+                    .thenReturn(Map.of());
 
             // Act & Assert
             assertThatThrownBy(() -> orderService.createFixedPriceOrder(request, cart, idempotencyKey))
@@ -495,11 +739,11 @@ class OrderServiceImplTest {
         @DisplayName("Should pass when order belongs to buyer")
         void shouldPassWhenOrderBelongsToBuyer() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRoutingService.getRoute(orderId)).thenReturn(fixedPriceRoute());
 
             // Act & Assert
             orderService.assertOrderBelongsToBuyer(orderId, userId);
-            verify(orderRepository).findById(orderId);
+            verifyNoInteractions(orderRepository);
         }
 
         @Test
@@ -507,7 +751,7 @@ class OrderServiceImplTest {
         void shouldThrowExceptionWhenOrderDoesNotBelongToBuyer() {
             // Arrange
             UUID User2Id = UUID.randomUUID();
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRoutingService.getRoute(orderId)).thenReturn(fixedPriceRoute());
 
             // Act & Assert
             assertThatThrownBy(() -> orderService.assertOrderBelongsToBuyer(orderId, User2Id))
@@ -519,7 +763,8 @@ class OrderServiceImplTest {
         @DisplayName("Should throw exception when order not found")
         void shouldThrowExceptionWhenOrderNotFound() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(orderRoutingService.getRoute(orderId))
+                    .thenThrow(new ResourceNotFoundException("Order", "Id", orderId.toString()));
 
             // Act & Assert
             assertThatThrownBy(() -> orderService.assertOrderBelongsToBuyer(orderId, userId))
@@ -560,35 +805,56 @@ class OrderServiceImplTest {
     class WorkflowManagementTests {
 
         @Test
-        @DisplayName("Should return correct workflow ID for fixed price order")
-        void shouldReturnCorrectWorkflowIdForFixedPriceOrder() {
+        @DisplayName("Should return routed workflow ID without loading the order")
+        void shouldReturnRoutedWorkflowId() {
             // Arrange
-
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRoutingService.getRoute(orderId)).thenReturn(fixedPriceRoute());
 
             // Act
             String result = orderService.getWorkflowIdByOrderId(orderId);
 
+            // Assert
+            assertThat(result).isEqualTo("fixed-price-checkout-" + idempotencyKey);
+            verifyNoInteractions(orderRepository);
+        }
+
+        @Test
+        @DisplayName("Should derive workflow ID for fixed price order")
+        void shouldDeriveWorkflowIdForFixedPriceOrder() {
+            // Act
+            String result = orderService.getWorkflowIdForOrder(order);
+
             // Assert
             assertThat(result).isEqualTo("fixed-price-checkout-" + idempotencyKey);
         }
 
         @Test
-        @DisplayName("Should return correct workflow ID for auction order")
-        void shouldReturnCorrectWorkflowIdForAuctionOrder() {
+        @DisplayName("Should derive workflow ID for auction order")
+        void shouldDeriveWorkflowIdForAuctionOrder() {
             // Arrange
             UUID auctionId = UUID.randomUUID();
             order.setType(OrderType.AUCTION);
             order.setAuctionId(auctionId);
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
 
             // Act
-            String result = orderService.getWorkflowIdByOrderId(orderId);
+            String result = orderService.getWorkflowIdForOrder(order);
 
             // Assert
             assertThat(result).isEqualTo("auction-checkout-" + auctionId);
         }
 
+        @Test
+        @DisplayName("Should prefer the persisted workflow ID")
+        void shouldPreferPersistedWorkflowId() {
+            // Arrange
+            order.setWorkflowId("fixed-price-checkout-stored");
+
+            // Act
+            String result = orderService.getWorkflowIdForOrder(order);
+
+            // Assert
+            assertThat(result).isEqualTo("fixed-price-checkout-stored");
+        }
     }
 
     @Nested
@@ -600,18 +866,19 @@ class OrderServiceImplTest {
         void shouldAuthorizePaymentForFixedPriceOrder() {
             // Arrange
             String paymentIntentId = "123456";
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRoutingService.getRoute(orderId)).thenReturn(fixedPriceRoute());
 
             // Act
             orderService.authorizePayment(orderId, paymentIntentId);
 
             // Assert
             verify(fixedPriceCheckoutStarter).sendPaymentAuthorized(
-                    idempotencyKey,
+                    "fixed-price-checkout-" + idempotencyKey,
                     orderId,
                     paymentIntentId
             );
             verify(auctionCheckoutStarter, never()).sendPaymentAuthorized(any(), any(), any());
+            verify(orderRepository, never()).findById(any());
         }
 
         @Test
@@ -620,17 +887,15 @@ class OrderServiceImplTest {
             // Arrange
             UUID auctionId = UUID.randomUUID();
             String paymentIntentId = "123456";
-            order.setType(OrderType.AUCTION);
-            order.setAuctionId(auctionId);
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRoutingService.getRoute(orderId)).thenReturn(auctionRoute(auctionId));
 
             // Act
             orderService.authorizePayment(orderId, paymentIntentId);
 
             // Assert
             verify(auctionCheckoutStarter).sendPaymentAuthorized(
+                    "auction-checkout-" + auctionId,
                     orderId,
-                    auctionId,
                     paymentIntentId
             );
             verify(fixedPriceCheckoutStarter, never()).sendPaymentAuthorized(any(), any(), any());
@@ -647,14 +912,14 @@ class OrderServiceImplTest {
             // Arrange
             String paymentIntentId = "123456";
             String clientSecret = "Hello my friend I'm Alien-X";
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRoutingService.getRoute(orderId)).thenReturn(fixedPriceRoute());
 
             // Act
             orderService.attachIntent(orderId, paymentIntentId, clientSecret);
 
             // Assert
             verify(fixedPriceCheckoutStarter).sendIntentCreated(
-                    idempotencyKey,
+                    "fixed-price-checkout-" + idempotencyKey,
                     orderId,
                     paymentIntentId,
                     clientSecret
@@ -668,17 +933,15 @@ class OrderServiceImplTest {
             UUID auctionId = UUID.randomUUID();
             String paymentIntentId = "123456";
             String clientSecret = "Hello my friend I'm Abdelrahman Mostafa aka the greatest programmer in the world";
-            order.setType(OrderType.AUCTION);
-            order.setAuctionId(auctionId);
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRoutingService.getRoute(orderId)).thenReturn(auctionRoute(auctionId));
 
             // Act
             orderService.attachIntent(orderId, paymentIntentId, clientSecret);
 
             // Assert
             verify(auctionCheckoutStarter).sendIntentCreated(
+                    "auction-checkout-" + auctionId,
                     orderId,
-                    auctionId,
                     paymentIntentId,
                     clientSecret
             );
@@ -693,14 +956,14 @@ class OrderServiceImplTest {
         @DisplayName("Should cancel fixed price checkout")
         void shouldCancelFixedPriceCheckout() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRoutingService.getRoute(orderId)).thenReturn(fixedPriceRoute());
 
             // Act
             orderService.cancelCheckout(orderId);
 
             // Assert
             verify(fixedPriceCheckoutStarter).sendCheckoutCancelled(
-                    idempotencyKey,
+                    "fixed-price-checkout-" + idempotencyKey,
                     orderId,
                     "User cancelled checkout"
             );
@@ -712,17 +975,15 @@ class OrderServiceImplTest {
         void shouldCancelAuctionCheckout() {
             // Arrange
             UUID auctionId = UUID.randomUUID();
-            order.setType(OrderType.AUCTION);
-            order.setAuctionId(auctionId);
-            when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+            when(orderRoutingService.getRoute(orderId)).thenReturn(auctionRoute(auctionId));
 
             // Act
             orderService.cancelCheckout(orderId);
 
             // Assert
             verify(auctionCheckoutStarter).sendCheckoutCancelled(
+                    "auction-checkout-" + auctionId,
                     orderId,
-                    auctionId,
                     "User cancelled checkout"
             );
             verify(fixedPriceCheckoutStarter, never()).sendCheckoutCancelled(any(), any(), any());
@@ -732,11 +993,20 @@ class OrderServiceImplTest {
         @DisplayName("Should throw exception when cancelling non-existent order")
         void shouldThrowExceptionWhenCancellingNonExistentOrder() {
             // Arrange
-            when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+            when(orderRoutingService.getRoute(orderId))
+                    .thenThrow(new ResourceNotFoundException("Order", "Id", orderId.toString()));
 
             // Act & Assert
             assertThatThrownBy(() -> orderService.cancelCheckout(orderId))
                     .isInstanceOf(ResourceNotFoundException.class);
         }
     }
-}
\ No newline at end of file
+
+    private OrderRoute fixedPriceRoute() {
+        return new OrderRoute(null, OrderType.FIXED_PRICE, userId, idempotencyKey, null);
+    }
+
+    private OrderRoute auctionRoute(UUID auctionId) {
+        return new OrderRoute(null, OrderType.AUCTION, userId, null, auctionId);
+    }
+}
@@ -0,0 +1,158 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.client.ProductBatchLoader;
+import com.mazadak.orders.dto.event.ProductChangedEvent;
+import com.mazadak.orders.dto.response.ProductResponseDTO;
+import com.mazadak.orders.exception.StaleProductSnapshotException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProductCatalogService Tests")
+class ProductCatalogServiceImplTest {
+
+    @Mock
+    private ProductBatchLoader productBatchLoader;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductCatalogServiceImpl productCatalogService;
+
+    private UUID productId;
+    private ProductResponseDTO product;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        productCatalogService = new ProductCatalogServiceImpl(productBatchLoader, meterRegistry, 100, Duration.ofMinutes(1));
+        productId = UUID.randomUUID();
+        product = new ProductResponseDTO(productId, UUID.randomUUID(), "Product", null, BigDecimal.TEN, 1L);
+    }
+
+    @Test
+    @DisplayName("Should load only the missing products and count hits")
+    void shouldLoadOnlyMissingProducts() {
+        // Arrange
+        UUID otherId = UUID.randomUUID();
+        ProductResponseDTO other = new ProductResponseDTO(otherId, UUID.randomUUID(), "Other", null, BigDecimal.ONE, 1L);
+        when(productBatchLoader.load(List.of(productId))).thenReturn(CompletableFuture.completedFuture(Map.of(productId, product)));
+        when(productBatchLoader.load(List.of(otherId))).thenReturn(CompletableFuture.completedFuture(Map.of(otherId, other)));
+
+        // Act
+        productCatalogService.getProducts(List.of(productId));
+        Map<UUID, ProductResponseDTO> result = productCatalogService.getProducts(List.of(productId, otherId));
+
+        // Assert
+        assertThat(result).containsEntry(productId, product).containsEntry(otherId, other);
+        verify(productBatchLoader, times(1)).load(List.of(productId));
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ProductCatalogServiceImpl.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should apply newer changes to cached snapshots only")
+    void shouldApplyNewerChangesToCachedSnapshots() {
+        // Arrange
+        UUID uncachedId = UUID.randomUUID();
+        when(productBatchLoader.load(List.of(productId))).thenReturn(CompletableFuture.completedFuture(Map.of(productId, product)));
+        productCatalogService.getProducts(List.of(productId));
+
+        // Act
+        productCatalogService.applyChange(new ProductChangedEvent(productId, null, null, null, BigDecimal.ONE, 3L));
+        productCatalogService.applyChange(new ProductChangedEvent(productId, null, "Outdated", null, BigDecimal.TWO, 2L));
+        productCatalogService.applyChange(new ProductChangedEvent(uncachedId, null, null, null, BigDecimal.ONE, 1L));
+
+        // Assert
+        ProductResponseDTO cached = productCatalogService.getProducts(List.of(productId)).get(productId);
+        assertThat(cached.price()).isEqualTo(BigDecimal.ONE);
+        assertThat(cached.title()).isEqualTo("Product");
+        assertThat(cached.version()).isEqualTo(3L);
+        verify(productBatchLoader, never()).load(List.of(uncachedId));
+    }
+
+    @Test
+    @DisplayName("Should evict a cached snapshot on a change without a version")
+    void shouldEvictSnapshotOnUnversionedChange() {
+        // Arrange
+        ProductResponseDTO unversioned = new ProductResponseDTO(productId, UUID.randomUUID(), "Product", null, BigDecimal.TEN, null);
+        ProductResponseDTO repriced = new ProductResponseDTO(productId, unversioned.sellerId(), "Product", null, BigDecimal.ONE, null);
+        when(productBatchLoader.load(List.of(productId)))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(productId, unversioned)))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(productId, repriced)));
+        productCatalogService.getProducts(List.of(productId));
+
+        // Act
+        productCatalogService.applyChange(new ProductChangedEvent(productId, null, null, null, BigDecimal.ONE, null));
+
+        // Assert
+        assertThat(productCatalogService.getProducts(List.of(productId)).get(productId).price()).isEqualTo(BigDecimal.ONE);
+        verify(productBatchLoader, times(2)).load(List.of(productId));
+    }
+
+    @Test
+    @DisplayName("Should keep a newer snapshot over a slower load of an older version")
+    void shouldKeepNewerSnapshotOverSlowerOlderLoad() {
+        // Arrange
+        ProductResponseDTO newer = new ProductResponseDTO(productId, product.sellerId(), "Product", null, BigDecimal.ONE, 2L);
+        CompletableFuture<Map<UUID, ProductResponseDTO>> slowLoad = new CompletableFuture<>();
+        when(productBatchLoader.load(List.of(productId)))
+                .thenReturn(slowLoad)
+                .thenReturn(CompletableFuture.completedFuture(Map.of(productId, newer)));
+        CompletableFuture<Map<UUID, ProductResponseDTO>> slowLookup =
+                CompletableFuture.supplyAsync(() -> productCatalogService.getProducts(List.of(productId)));
+        verify(productBatchLoader, timeout(1000)).load(List.of(productId));
+        productCatalogService.getProducts(List.of(productId));
+
+        // Act
+        slowLoad.complete(Map.of(productId, product));
+
+        // Assert
+        assertThat(slowLookup.join().get(productId)).isEqualTo(newer);
+        assertThat(productCatalogService.getProducts(List.of(productId)).get(productId)).isEqualTo(newer);
+        verify(productBatchLoader, times(2)).load(List.of(productId));
+    }
+
+    @Test
+    @DisplayName("Should reject a priced cart when a newer version arrived")
+    void shouldRejectCartPricedFromOlderVersion() {
+        // Arrange
+        when(productBatchLoader.load(List.of(productId))).thenReturn(CompletableFuture.completedFuture(Map.of(productId, product)));
+        ProductResponseDTO priced = productCatalogService.getProducts(List.of(productId)).get(productId);
+        productCatalogService.assertCurrent(List.of(priced));
+
+        // Act
+        productCatalogService.applyChange(new ProductChangedEvent(productId, null, null, null, BigDecimal.ONE, 2L));
+
+        // Assert
+        assertThatThrownBy(() -> productCatalogService.assertCurrent(List.of(priced)))
+                .isInstanceOf(StaleProductSnapshotException.class);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the loader's failure")
+    void shouldRethrowLoaderFailure() {
+        // Arrange
+        when(productBatchLoader.load(anyCollection()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("product-catalog down")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> productCatalogService.getProducts(List.of(productId)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,118 @@
+package com.mazadak.orders.service.impl;
+
+import com.mazadak.orders.client.UserClient;
+import com.mazadak.orders.dto.client.UserProfileResponse;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserEmailService Tests")
+class UserEmailServiceImplTest {
+
+    @Mock
+    private UserClient userClient;
+
+    private UserEmailServiceImpl userEmailService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userEmailService = new UserEmailServiceImpl(
+                userClient, new SimpleMeterRegistry(), 100, Duration.ofMinutes(30), Duration.ofMinutes(1), 4, 3);
+        userId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userEmailService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        when(userClient.getUser(userId, userId)).thenReturn(ResponseEntity.ok(user("bidder@mazadak.com")));
+
+        // Act
+        userEmailService.getEmail(userId);
+        var email = userEmailService.getEmail(userId);
+
+        // Assert
+        assertThat(email).contains("bidder@mazadak.com");
+        verify(userClient, times(1)).getUser(userId, userId);
+    }
+
+    @Test
+    @DisplayName("Should cache users that do not exist")
+    void shouldCacheMissingUsers() {
+        // Arrange
+        Request request = Request.create(Request.HttpMethod.GET, "/users/" + userId, Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(userClient.getUser(userId, userId))
+                .thenThrow(new FeignException.NotFound("not found", request, null, Map.of()));
+
+        // Act
+        userEmailService.getEmail(userId);
+        var email = userEmailService.getEmail(userId);
+
+        // Assert
+        assertThat(email).isEmpty();
+        verify(userClient, times(1)).getUser(userId, userId);
+    }
+
+    @Test
+    @DisplayName("Should not cache failed lookups")
+    void shouldNotCacheFailedLookups() {
+        // Arrange
+        when(userClient.getUser(userId, userId))
+                .thenThrow(new IllegalStateException("user-service unavailable"))
+                .thenReturn(ResponseEntity.ok(user("bidder@mazadak.com")));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userEmailService.getEmail(userId)).isInstanceOf(IllegalStateException.class);
+        assertThat(userEmailService.getEmail(userId)).contains("bidder@mazadak.com");
+    }
+
+    @Test
+    @DisplayName("Should prefetch the first bidders so their lookups need no call")
+    void shouldPrefetchFirstBidders() {
+        // Arrange
+        List<UUID> bidders = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+        when(userClient.getUser(any(), any())).thenAnswer(invocation ->
+                ResponseEntity.ok(user(invocation.getArgument(1) + "@mazadak.com")));
+
+        // Act
+        userEmailService.prefetch(bidders).join();
+        var email = userEmailService.getEmail(bidders.getFirst());
+
+        // Assert
+        assertThat(email).contains(bidders.getFirst() + "@mazadak.com");
+        verify(userClient, times(3)).getUser(any(), any());
+    }
+
+    private static UserProfileResponse user(String email) {
+        return new UserProfileResponse(null, null, List.of(), null, "First", "Last", email);
+    }
+}
@@ -0,0 +1,180 @@
+package com.mazadak.orders.workflow.activity.impl;
+
+import com.mazadak.orders.client.CartClient;
+import com.mazadak.orders.client.InventoryClient;
+import com.mazadak.orders.dto.client.CartItemResponseDTO;
+import com.mazadak.orders.dto.client.CartResponseDTO;
+import com.mazadak.orders.dto.internal.WorkflowResult;
+import com.mazadak.orders.dto.request.CheckoutRequest;
+import com.mazadak.orders.dto.request.ConfirmReservationRequest;
+import com.mazadak.orders.dto.request.ReserveInventoryRequest;
+import com.mazadak.orders.dto.response.OrderResponse;
+import com.mazadak.orders.model.entity.Address;
+import com.mazadak.orders.model.enumeration.OrderStatus;
+import com.mazadak.orders.model.enumeration.OrderType;
+import com.mazadak.orders.model.enumeration.PaymentStatus;
+import com.mazadak.orders.service.OrderService;
+import com.mazadak.orders.workflow.FixedPriceCheckoutWorkflow;
+import com.mazadak.orders.workflow.activity.CheckoutActivities;
+import com.mazadak.orders.workflow.impl.FixedPriceCheckoutWorkflowImpl;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FixedPriceCheckoutActivities Tests")
+class FixedPriceCheckoutActivitiesImplTest {
+
+    private static final String TASK_QUEUE = "FIXED_PRICE_CHECKOUT_ACTIVITIES";
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    private TestWorkflowEnvironment testEnv;
+    private InventoryClient inventoryClient;
+
+    private UUID userId;
+    private UUID orderId;
+    private UUID reservationId;
+
+    @BeforeEach
+    void setUp() {
+        testEnv = TestWorkflowEnvironment.newInstance();
+        userId = UUID.randomUUID();
+        orderId = UUID.randomUUID();
+        reservationId = UUID.randomUUID();
+
+        CartClient cartClient = mock(CartClient.class);
+        inventoryClient = mock(InventoryClient.class);
+        OrderService orderService = mock(OrderService.class);
+        CheckoutActivities checkoutActivities = mock(CheckoutActivities.class, withSettings().withoutAnnotations());
+
+        CartResponseDTO cart = new CartResponseDTO(
+                UUID.randomUUID(), userId, List.of(new CartItemResponseDTO(UUID.randomUUID(), UUID.randomUUID(), 1)));
+        when(cartClient.getCart(userId)).thenReturn(ResponseEntity.ok(cart));
+        when(orderService.createFixedPriceOrder(any(), any(), any())).thenReturn(newOrder());
+
+        Worker worker = testEnv.newWorker(TASK_QUEUE);
+        worker.registerWorkflowImplementationFactory(
+                FixedPriceCheckoutWorkflow.class,
+                () -> new FixedPriceCheckoutWorkflowImpl(false)
+        );
+        worker.registerActivitiesImplementations(
+                new FixedPriceCheckoutActivitiesImpl(cartClient, inventoryClient, orderService),
+                checkoutActivities
+        );
+        testEnv.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testEnv.close();
+    }
+
+    @Test
+    @DisplayName("Should resend the same keys when inventory calls are retried")
+    void inventoryCalls_FailedAttempts_RetryWithSameKey() {
+        // Arrange
+        when(inventoryClient.reserveInventory(any(), any(ReserveInventoryRequest.class)))
+                .thenThrow(new IllegalStateException("inventory-service unavailable"))
+                .thenReturn(ResponseEntity.ok(List.of(reservationId)));
+        doThrow(new IllegalStateException("inventory-service unavailable"))
+                .doNothing()
+                .when(inventoryClient).confirmInventoryReservations(any(), any(ConfirmReservationRequest.class));
+        FixedPriceCheckoutWorkflow workflow = startCheckout();
+
+        // Act
+        verify(inventoryClient, timeout(TIMEOUT_MILLIS).times(2)).reserveInventory(any(), any());
+        workflow.intentCreated(orderId, "pi_123", "secret_123");
+        workflow.paymentAuthorized(orderId, "pi_123");
+        WorkflowResult result = WorkflowStub.fromTyped(workflow).getResult(WorkflowResult.class);
+
+        // Assert
+        assertThat(result.isSuccess()).isTrue();
+
+        ArgumentCaptor<UUID> reserveKeys = ArgumentCaptor.forClass(UUID.class);
+        verify(inventoryClient, times(2)).reserveInventory(reserveKeys.capture(), any());
+        assertThat(reserveKeys.getAllValues()).hasSize(2).containsOnly(reserveKeys.getValue());
+
+        ArgumentCaptor<UUID> confirmKeys = ArgumentCaptor.forClass(UUID.class);
+        verify(inventoryClient, times(2)).confirmInventoryReservations(confirmKeys.capture(), any());
+        assertThat(confirmKeys.getAllValues()).hasSize(2).containsOnly(confirmKeys.getValue());
+
+        assertThat(confirmKeys.getValue()).isNotEqualTo(reserveKeys.getValue());
+    }
+
+    @Test
+    @DisplayName("Should resend the same key when a release is retried")
+    void releaseInventoryReservations_FailedAttempt_RetriesWithSameKey() {
+        // Arrange
+        when(inventoryClient.reserveInventory(any(), any(ReserveInventoryRequest.class)))
+                .thenReturn(ResponseEntity.ok(List.of(reservationId)));
+        when(inventoryClient.releaseReservation(any(), anyList()))
+                .thenThrow(new IllegalStateException("inventory-service unavailable"))
+                .thenReturn(ResponseEntity.ok().build());
+        FixedPriceCheckoutWorkflow workflow = startCheckout();
+
+        // Act
+        verify(inventoryClient, timeout(TIMEOUT_MILLIS)).reserveInventory(any(), any());
+        workflow.cancelCheckout(orderId, "changed my mind");
+        WorkflowResult result = WorkflowStub.fromTyped(workflow).getResult(WorkflowResult.class);
+
+        // Assert
+        assertThat(result.isSuccess()).isFalse();
+
+        ArgumentCaptor<UUID> releaseKeys = ArgumentCaptor.forClass(UUID.class);
+        verify(inventoryClient, times(2)).releaseReservation(releaseKeys.capture(), eq(List.of(reservationId)));
+        assertThat(releaseKeys.getAllValues()).hasSize(2).containsOnly(releaseKeys.getValue());
+    }
+
+    @Test
+    @DisplayName("Should derive distinct keys for distinct runs, activities and steps")
+    void forStep_DistinctScopes_DistinctKeys() {
+        // Act
+        UUID key = ActivityIdempotencyKeys.forStep("checkout-1", "run-1", "5", "reserve-inventory");
+
+        // Assert
+        assertThat(ActivityIdempotencyKeys.forStep("checkout-1", "run-1", "5", "reserve-inventory")).isEqualTo(key);
+        assertThat(ActivityIdempotencyKeys.forStep("checkout-2", "run-1", "5", "reserve-inventory")).isNotEqualTo(key);
+        assertThat(ActivityIdempotencyKeys.forStep("checkout-1", "run-2", "5", "reserve-inventory")).isNotEqualTo(key);
+        assertThat(ActivityIdempotencyKeys.forStep("checkout-1", "run-1", "6", "reserve-inventory")).isNotEqualTo(key);
+        assertThat(ActivityIdempotencyKeys.forStep("checkout-1", "run-1", "5", "release-inventory")).isNotEqualTo(key);
+    }
+
+    private FixedPriceCheckoutWorkflow startCheckout() {
+        FixedPriceCheckoutWorkflow workflow = testEnv.getWorkflowClient().newWorkflowStub(
+                FixedPriceCheckoutWorkflow.class,
+                WorkflowOptions.newBuilder()
+                        .setTaskQueue(TASK_QUEUE)
+                        .setWorkflowId("checkout-" + UUID.randomUUID())
+                        .build()
+        );
+        WorkflowClient.start(workflow::processCheckout,
+                new CheckoutRequest(userId, new Address("Street", "City", "State", "12345", "Country")),
+                UUID.randomUUID());
+        return workflow;
+    }
+
+    private OrderResponse newOrder() {
+        return new OrderResponse(
+                orderId, userId, OrderType.FIXED_PRICE, new BigDecimal("100.00"),
+                OrderStatus.PENDING, null, PaymentStatus.PENDING, List.of(),
+                null, null, null, UUID.randomUUID(), Instant.now()
+        );
+    }
+}
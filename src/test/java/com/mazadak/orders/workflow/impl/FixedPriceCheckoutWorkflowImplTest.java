@@ -0,0 +1,378 @@
+package com.mazadak.orders.workflow.impl;
+
+import com.mazadak.orders.dto.client.CartResponseDTO;
+import com.mazadak.orders.dto.internal.CheckoutState;
+import com.mazadak.orders.dto.internal.WorkflowResult;
+import com.mazadak.orders.dto.request.CheckoutRequest;
+import com.mazadak.orders.dto.response.OrderResponse;
+import com.mazadak.orders.exception.IdempotencyKeyConflictException;
+import com.mazadak.orders.model.entity.Address;
+import com.mazadak.orders.model.enumeration.CheckoutStep;
+import com.mazadak.orders.model.enumeration.OrderStatus;
+import com.mazadak.orders.model.enumeration.OrderType;
+import com.mazadak.orders.model.enumeration.PaymentStatus;
+import com.mazadak.orders.workflow.FixedPriceCheckoutWorkflow;
+import com.mazadak.orders.workflow.activity.CheckoutActivities;
+import com.mazadak.orders.workflow.activity.FixedPriceCheckoutActivities;
+import com.mazadak.orders.workflow.starter.FixedPriceCheckoutStarter;
+import com.mazadak.orders.workflow.starter.WorkflowSignalDispatcher;
+import com.mazadak.orders.workflow.starter.WorkflowStubCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.temporal.api.enums.v1.EventType;
+import io.temporal.api.history.v1.HistoryEvent;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowOptions;
+import io.temporal.client.WorkflowStub;
+import io.temporal.testing.TestEnvironmentOptions;
+import io.temporal.testing.TestWorkflowEnvironment;
+import io.temporal.worker.Worker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FixedPriceCheckoutWorkflow Tests")
+class FixedPriceCheckoutWorkflowImplTest {
+    private static final Logger log = LoggerFactory.getLogger(FixedPriceCheckoutWorkflowImplTest.class);
+
+    private static final String REMOTE_TASK_QUEUE = "FIXED_PRICE_CHECKOUT_REMOTE";
+    private static final String LOCAL_TASK_QUEUE = "FIXED_PRICE_CHECKOUT_LOCAL";
+    private static final String STARTER_TASK_QUEUE = "FIXED_PRICE_CHECKOUT_TASK_QUEUE";
+    private static final int CHECKOUTS = 20;
+
+    private TestWorkflowEnvironment testEnv;
+    private FixedPriceCheckoutActivities fixedPriceActivities;
+    private CheckoutActivities checkoutActivities;
+    // orders whose inventory was reserved, i.e. the workflow is ready for payment signals
+    private final BlockingQueue<UUID> reservedOrders = new LinkedBlockingQueue<>();
+
+    @BeforeEach
+    void setUp() {
+        // real time, so the measured latency includes task queue dispatch
+        testEnv = TestWorkflowEnvironment.newInstance(
+                TestEnvironmentOptions.newBuilder().setUseTimeskipping(false).build()
+        );
+
+        fixedPriceActivities = mock(FixedPriceCheckoutActivities.class, withSettings().withoutAnnotations());
+        checkoutActivities = mock(CheckoutActivities.class, withSettings().withoutAnnotations());
+
+        when(fixedPriceActivities.getCart(any())).thenAnswer(invocation ->
+                new CartResponseDTO(UUID.randomUUID(), invocation.getArgument(0), List.of()));
+        when(fixedPriceActivities.createOrder(any(), any(), any())).thenAnswer(invocation -> newOrder(invocation.<CheckoutRequest>getArgument(0).userId()));
+        when(fixedPriceActivities.reserveInventory(any(), anyList())).thenAnswer(invocation -> {
+            reservedOrders.add(invocation.getArgument(0));
+            return List.of();
+        });
+
+        registerWorker(REMOTE_TASK_QUEUE, false);
+        registerWorker(LOCAL_TASK_QUEUE, true);
+        registerWorker(STARTER_TASK_QUEUE, true);
+        testEnv.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        testEnv.close();
+    }
+
+    @Nested
+    @DisplayName("Local Activities Benchmark")
+    class LocalActivitiesBenchmark {
+
+        @Test
+        @DisplayName("Should shrink history and latency when DB-only steps run as local activities")
+        void processCheckout_LocalOrderActivities_ShrinksHistoryAndLatency() throws Exception {
+            // Arrange
+            runCheckout(REMOTE_TASK_QUEUE); // warm up both workers
+            runCheckout(LOCAL_TASK_QUEUE);
+
+            // Act
+            CheckoutRun remote = runCheckouts(REMOTE_TASK_QUEUE);
+            CheckoutRun local = runCheckouts(LOCAL_TASK_QUEUE);
+
+            log.info("Remote order activities: {} history events, {} activity tasks, {} ms per checkout",
+                    remote.historyEvents(), remote.activityTasks(), remote.millisPerCheckout());
+            log.info("Local order activities: {} history events, {} activity tasks, {} ms per checkout",
+                    local.historyEvents(), local.activityTasks(), local.millisPerCheckout());
+
+            // Assert
+            assertThat(local.historyEvents()).isLessThan(remote.historyEvents());
+            assertThat(local.activityTasks()).isLessThan(remote.activityTasks());
+            verify(checkoutActivities, times(2 * (CHECKOUTS + 1))).markOrderAsCompleted(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Checkout State Query Tests")
+    class CheckoutStateQueryTests {
+
+        @Test
+        @DisplayName("Should report the current order and step while waiting for payment")
+        void getCheckoutState_WaitingForIntent_ReportsOrderCreated() throws Exception {
+            // Arrange
+            StartedCheckout checkout = startCheckout(LOCAL_TASK_QUEUE);
+
+            // Act
+            CheckoutState state = checkout.workflow().getCheckoutState();
+
+            // Assert
+            assertThat(state.orderId()).isEqualTo(checkout.orderId());
+            assertThat(state.step()).isEqualTo(CheckoutStep.ORDER_CREATED);
+            assertThat(state.intentCreated()).isFalse();
+            assertThat(state.paymentAuthorized()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should report completion after a successful checkout")
+        void getCheckoutState_Completed_ReportsCompleted() throws Exception {
+            // Arrange
+            StartedCheckout checkout = startCheckout(LOCAL_TASK_QUEUE);
+            checkout.workflow().intentCreated(checkout.orderId(), "pi_123", "secret_123");
+            checkout.workflow().paymentAuthorized(checkout.orderId(), "pi_123");
+            WorkflowStub.fromTyped(checkout.workflow()).getResult(WorkflowResult.class);
+
+            // Act
+            CheckoutState state = checkout.workflow().getCheckoutState();
+
+            // Assert
+            assertThat(state.step()).isEqualTo(CheckoutStep.COMPLETED);
+            assertThat(state.intentCreated()).isTrue();
+            assertThat(state.paymentAuthorized()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Should report failure and the reason after a cancelled checkout")
+        void getCheckoutState_Cancelled_ReportsFailed() throws Exception {
+            // Arrange
+            StartedCheckout checkout = startCheckout(LOCAL_TASK_QUEUE);
+            checkout.workflow().cancelCheckout(checkout.orderId(), "changed my mind");
+            WorkflowResult result = WorkflowStub.fromTyped(checkout.workflow()).getResult(WorkflowResult.class);
+
+            // Act
+            CheckoutState state = checkout.workflow().getCheckoutState();
+
+            // Assert
+            assertThat(result.isSuccess()).isFalse();
+            assertThat(state.step()).isEqualTo(CheckoutStep.FAILED);
+            assertThat(state.checkoutCancelled()).isTrue();
+            assertThat(state.cancellationReason()).isEqualTo("changed my mind");
+        }
+    }
+
+    @Nested
+    @DisplayName("Update With Start Tests")
+    class UpdateWithStartTests {
+
+        private FixedPriceCheckoutStarter starter;
+
+        @BeforeEach
+        void setUp() {
+            starter = newStarter();
+        }
+
+        @Test
+        @DisplayName("Should return the order once its inventory is reserved")
+        void startFixedPriceCheckoutAndAwaitOrder_ReturnsReservedOrder() throws Exception {
+            // Act
+            OrderResponse order = starter.startFixedPriceCheckoutAndAwaitOrder(
+                    UUID.randomUUID(), new CheckoutRequest(UUID.randomUUID(), newAddress()));
+
+            // Assert
+            assertThat(order.id()).isEqualTo(reservedOrders.poll(1, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("Should attach a retried request to the running checkout")
+        void startFixedPriceCheckoutAndAwaitOrder_SameIdempotencyKey_ReturnsSameOrder() {
+            // Arrange
+            UUID idempotencyKey = UUID.randomUUID();
+            CheckoutRequest request = new CheckoutRequest(UUID.randomUUID(), newAddress());
+
+            // Act
+            OrderResponse first = starter.startFixedPriceCheckoutAndAwaitOrder(idempotencyKey, request);
+            OrderResponse retried = starter.startFixedPriceCheckoutAndAwaitOrder(idempotencyKey, request);
+
+            // Assert
+            assertThat(retried.id()).isEqualTo(first.id());
+            verify(fixedPriceActivities, times(1)).createOrder(any(), any(), eq(idempotencyKey));
+        }
+
+        @Test
+        @DisplayName("Should return the running execution for a retried asynchronous checkout")
+        void startFixedPriceCheckout_SameIdempotencyKey_ReturnsRunningExecution() {
+            // Arrange
+            UUID idempotencyKey = UUID.randomUUID();
+            CheckoutRequest request = new CheckoutRequest(UUID.randomUUID(), newAddress());
+
+            // Act
+            WorkflowExecution first = starter.startFixedPriceCheckout(idempotencyKey, request);
+            WorkflowExecution retried = starter.startFixedPriceCheckout(idempotencyKey, request);
+
+            // Assert
+            assertThat(retried).isEqualTo(first);
+        }
+
+        @Test
+        @DisplayName("Should reject an asynchronous checkout reusing another buyer's key")
+        void startFixedPriceCheckout_KeyOfAnotherBuyer_Throws() {
+            // Arrange
+            UUID idempotencyKey = UUID.randomUUID();
+            starter.startFixedPriceCheckout(idempotencyKey, new CheckoutRequest(UUID.randomUUID(), newAddress()));
+
+            // Act & Assert
+            assertThatThrownBy(() -> starter.startFixedPriceCheckout(
+                    idempotencyKey, new CheckoutRequest(UUID.randomUUID(), newAddress())))
+                    .isInstanceOf(IdempotencyKeyConflictException.class);
+        }
+
+        @Test
+        @DisplayName("Should reject a synchronous checkout reusing another buyer's key")
+        void startFixedPriceCheckoutAndAwaitOrder_KeyOfAnotherBuyer_Throws() {
+            // Arrange
+            UUID idempotencyKey = UUID.randomUUID();
+            starter.startFixedPriceCheckoutAndAwaitOrder(idempotencyKey, new CheckoutRequest(UUID.randomUUID(), newAddress()));
+
+            // Act & Assert
+            assertThatThrownBy(() -> starter.startFixedPriceCheckoutAndAwaitOrder(
+                    idempotencyKey, new CheckoutRequest(UUID.randomUUID(), newAddress())))
+                    .isInstanceOf(IdempotencyKeyConflictException.class);
+            verify(fixedPriceActivities, times(1)).createOrder(any(), any(), eq(idempotencyKey));
+        }
+    }
+
+    @Nested
+    @DisplayName("Async Signal Tests")
+    class AsyncSignalTests {
+
+        private FixedPriceCheckoutStarter starter;
+
+        @BeforeEach
+        void setUp() {
+            starter = newStarter();
+        }
+
+        @Test
+        @DisplayName("Should complete the checkout from signals dispatched through the starter")
+        void sendSignals_RunningCheckout_CompletesCheckout() {
+            // Arrange
+            UUID idempotencyKey = UUID.randomUUID();
+            String workflowId = "fixed-price-checkout-" + idempotencyKey;
+            OrderResponse order = starter.startFixedPriceCheckoutAndAwaitOrder(
+                    idempotencyKey, new CheckoutRequest(UUID.randomUUID(), newAddress()));
+
+            // Act
+            starter.sendIntentCreated(workflowId, order.id(), "pi_123", "secret_123").join();
+            starter.sendPaymentAuthorized(workflowId, order.id(), "pi_123").join();
+
+            // Assert
+            WorkflowResult result = testEnv.getWorkflowClient()
+                    .newUntypedWorkflowStub(workflowId)
+                    .getResult(WorkflowResult.class);
+            assertThat(result.isSuccess()).isTrue();
+            verify(checkoutActivities).markOrderAsCompleted(order.id());
+        }
+    }
+
+    private FixedPriceCheckoutStarter newStarter() {
+        WorkflowClient client = testEnv.getWorkflowClient();
+        FixedPriceCheckoutStarter starter = new FixedPriceCheckoutStarter(
+                client,
+                new WorkflowStubCache(client, 100, Duration.ofMinutes(1)),
+                new WorkflowSignalDispatcher(new SimpleMeterRegistry(), 8)
+        );
+        ReflectionTestUtils.setField(starter, "syncTimeout", Duration.ofSeconds(10));
+        return starter;
+    }
+
+    private void registerWorker(String taskQueue, boolean useLocalOrderActivities) {
+        Worker worker = testEnv.newWorker(taskQueue);
+        worker.registerWorkflowImplementationFactory(
+                FixedPriceCheckoutWorkflow.class,
+                () -> new FixedPriceCheckoutWorkflowImpl(useLocalOrderActivities)
+        );
+        worker.registerActivitiesImplementations(fixedPriceActivities, checkoutActivities);
+    }
+
+    private CheckoutRun runCheckouts(String taskQueue) throws Exception {
+        List<HistoryEvent> history = List.of();
+        long start = System.nanoTime();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            history = runCheckout(taskQueue);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long activityTasks = history.stream()
+                .filter(event -> event.getEventType() == EventType.EVENT_TYPE_ACTIVITY_TASK_SCHEDULED)
+                .count();
+        return new CheckoutRun(history.size(), activityTasks, TimeUnit.NANOSECONDS.toMillis(elapsed) / (double) CHECKOUTS);
+    }
+
+    private List<HistoryEvent> runCheckout(String taskQueue) throws Exception {
+        StartedCheckout checkout = startCheckout(taskQueue);
+        checkout.workflow().intentCreated(checkout.orderId(), "pi_123", "secret_123");
+        checkout.workflow().paymentAuthorized(checkout.orderId(), "pi_123");
+
+        WorkflowResult result = WorkflowStub.fromTyped(checkout.workflow()).getResult(WorkflowResult.class);
+        assertThat(result.isSuccess()).isTrue();
+
+        return testEnv.getWorkflowClient().fetchHistory(checkout.workflowId()).getEvents();
+    }
+
+    /**
+     * Starts a checkout and waits until its order is created and inventory is being reserved, i.e. the workflow
+     * accepts signals for that order.
+     */
+    private StartedCheckout startCheckout(String taskQueue) throws Exception {
+        String workflowId = "checkout-" + UUID.randomUUID();
+        FixedPriceCheckoutWorkflow workflow = testEnv.getWorkflowClient().newWorkflowStub(
+                FixedPriceCheckoutWorkflow.class,
+                WorkflowOptions.newBuilder()
+                        .setTaskQueue(taskQueue)
+                        .setWorkflowId(workflowId)
+                        .build()
+        );
+
+        WorkflowClient.start(workflow::processCheckout, new CheckoutRequest(UUID.randomUUID(), newAddress()), UUID.randomUUID());
+
+        UUID orderId = reservedOrders.poll(10, TimeUnit.SECONDS);
+        assertThat(orderId).isNotNull();
+        return new StartedCheckout(workflowId, workflow, orderId);
+    }
+
+    private static OrderResponse newOrder(UUID buyerId) {
+        return new OrderResponse(
+                UUID.randomUUID(), buyerId, OrderType.FIXED_PRICE, new BigDecimal("100.00"),
+                OrderStatus.PENDING, newAddress(), PaymentStatus.PENDING, List.of(),
+                null, null, null, UUID.randomUUID(), Instant.now()
+        );
+    }
+
+    private static Address newAddress() {
+        return new Address("Street", "City", "State", "12345", "Country");
+    }
+
+    private record StartedCheckout(String workflowId, FixedPriceCheckoutWorkflow workflow, UUID orderId) { }
+
+    private record CheckoutRun(int historyEvents, long activityTasks, double millisPerCheckout) { }
+}
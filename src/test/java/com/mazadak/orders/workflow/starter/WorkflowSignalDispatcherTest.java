@@ -0,0 +1,81 @@
+package com.mazadak.orders.workflow.starter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowSignalDispatcherTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private WorkflowSignalDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new WorkflowSignalDispatcher(meterRegistry, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should time signals by name and outcome")
+    void dispatch_RecordsOutcome() {
+        // Act
+        dispatcher.dispatch("paymentAuthorized", "wf-1", () -> { }).join();
+        CompletableFuture<Void> failed = dispatcher.dispatch("paymentAuthorized", "wf-2", () -> {
+            throw new IllegalStateException("workflow not found");
+        });
+
+        // Assert
+        assertThatThrownBy(failed::join)
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get("orders.workflow.signals")
+                .tags("signal", "paymentAuthorized", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.workflow.signals")
+                .tags("signal", "paymentAuthorized", "outcome", "failure").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.workflow.signals.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should block new signals while max-in-flight signals are outstanding")
+    void dispatch_AtMaxInFlight_BlocksCaller() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = dispatcher.dispatch("intentCreated", "wf-1", () -> awaitQuietly(release));
+
+        // Act
+        CompletableFuture<CompletableFuture<Void>> second = CompletableFuture.supplyAsync(
+                () -> dispatcher.dispatch("intentCreated", "wf-2", () -> { }));
+
+        // Assert
+        assertThat(meterRegistry.get("orders.workflow.signals.in-flight").gauge().value()).isEqualTo(1);
+        Thread.sleep(100);
+        assertThat(second).isNotDone();
+
+        release.countDown();
+        first.get(1, TimeUnit.SECONDS);
+        second.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}